@@ -30,6 +30,11 @@ android {
         sourceCompatibility = JavaVersion.VERSION_1_8
         targetCompatibility = JavaVersion.VERSION_1_8
     }
+
+    testOptions {
+        // Let JVM unit tests run code that logs through android.util.Log
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -51,16 +56,26 @@ dependencies {
     // Room Database
     implementation("androidx.room:room-runtime:2.6.1")
     annotationProcessor("androidx.room:room-compiler:2.6.1")
+    implementation("androidx.room:room-paging:2.6.1")
+
+    // Paging (paged post list)
+    implementation("androidx.paging:paging-runtime:3.2.1")
 
     // Lifecycle Components (ViewModel, LiveData)
     implementation("androidx.lifecycle:lifecycle-viewmodel:2.7.0")
+    implementation("androidx.lifecycle:lifecycle-viewmodel-ktx:2.7.0") // viewModelScope for PagingLiveData.cachedIn
     implementation("androidx.lifecycle:lifecycle-livedata:2.7.0")
     implementation("androidx.lifecycle:lifecycle-runtime:2.7.0")
     implementation("androidx.lifecycle:lifecycle-extensions:2.2.0")
 
+    // WorkManager (periodic background catalog sync)
+    implementation("androidx.work:work-runtime:2.9.0")
+
     // Retrofit for API calls
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
     implementation("com.squareup.retrofit2:converter-gson:2.9.0")
+    // OkHttp (same version Retrofit pulls in) for the HTTP disk cache
+    implementation("com.squareup.okhttp3:okhttp:3.14.9")
 
     // Gson for JSON parsing
     implementation("com.google.code.gson:gson:2.10.1")
@@ -68,9 +83,17 @@ dependencies {
     // Glide for image loading (NOW ENABLED!)
     implementation("com.github.bumptech.glide:glide:4.16.0")
     annotationProcessor("com.github.bumptech.glide:compiler:4.16.0")
+    // Cover preloading while the list scrolls (uses the app's RecyclerView version)
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.16.0") {
+        isTransitive = false
+    }
 
     // Testing
     testImplementation("junit:junit:4.13.2")
+    // Local HTTP stand-in for the Google Books API (matches Retrofit's OkHttp version)
+    testImplementation("com.squareup.okhttp3:mockwebserver:3.14.9")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
+    androidTestImplementation("androidx.work:work-testing:2.9.0")
+    androidTestImplementation("com.squareup.okhttp3:mockwebserver:3.14.9")
 }
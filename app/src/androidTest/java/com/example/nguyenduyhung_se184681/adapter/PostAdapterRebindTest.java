@@ -0,0 +1,136 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.nguyenduyhung_se184681.R;
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * How many rows each list update rebinds, read from PostAdapter's bind counters
+ * The list is laid out tall enough to show every row, so a row that is
+ * rebound shows up in the counters whatever its position
+ */
+@RunWith(AndroidJUnit4.class)
+public class PostAdapterRebindTest {
+
+    private static final int POSTS = 20;
+    private static final int WIDTH_PX = 1080;
+    private static final int HEIGHT_PX = 100_000;
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+    private RecyclerView recyclerView;
+    private PostAdapter adapter;
+
+    @Before
+    public void setUp() {
+        instrumentation.runOnMainSync(() -> {
+            Context context = new ContextThemeWrapper(instrumentation.getTargetContext(),
+                    R.style.Theme_NguyenDuyHungSE184681);
+            adapter = new PostAdapter(null);
+            recyclerView = new RecyclerView(context);
+            recyclerView.setLayoutManager(new LinearLayoutManager(context));
+            // No animations: rows are rebound in the layout pass itself
+            recyclerView.setItemAnimator(null);
+            recyclerView.setAdapter(adapter);
+        });
+    }
+
+    @Test
+    public void favoriteFlip_rebindsOnlyTheStar() throws Exception {
+        submitAndLayout(posts(allIndexes(), -1));
+        assertEquals(POSTS, adapter.getFullBindCount());
+        adapter.resetBindCounts();
+
+        submitAndLayout(posts(allIndexes(), 7));
+
+        assertEquals(1, adapter.getPayloadBindCount());
+        assertEquals(0, adapter.getFullBindCount());
+    }
+
+    @Test
+    public void filterChange_fullyBindsOnlyInsertedRows() throws Exception {
+        // Filtered to one category: the even rows
+        List<Integer> even = new ArrayList<>();
+        for (int i = 0; i < POSTS; i += 2) {
+            even.add(i);
+        }
+        submitAndLayout(posts(even, -1));
+        adapter.resetBindCounts();
+
+        // Filter cleared: the odd rows are inserted between the kept ones
+        submitAndLayout(posts(allIndexes(), -1));
+
+        assertEquals(POSTS - even.size(), adapter.getFullBindCount());
+        assertEquals(0, adapter.getPayloadBindCount());
+    }
+
+    @Test
+    public void sortChange_fullyBindsNoMoreThanTheMovedRows() throws Exception {
+        submitAndLayout(posts(allIndexes(), -1));
+        adapter.resetBindCounts();
+
+        List<Integer> reversed = allIndexes();
+        Collections.reverse(reversed);
+        submitAndLayout(posts(reversed, -1));
+
+        // Reversing moves every row but the one that stays in place
+        assertTrue("Full binds: " + adapter.getFullBindCount(),
+                adapter.getFullBindCount() <= POSTS - 1);
+        assertEquals(0, adapter.getPayloadBindCount());
+    }
+
+    // Submit, wait for the diff to be dispatched, then run the layout pass that rebinds rows
+    private void submitAndLayout(List<Post> posts) throws InterruptedException {
+        CountDownLatch committed = new CountDownLatch(1);
+        instrumentation.runOnMainSync(() -> adapter.setPosts(posts, committed::countDown));
+        assertTrue("List should be committed", committed.await(10, TimeUnit.SECONDS));
+        instrumentation.runOnMainSync(() -> {
+            recyclerView.measure(
+                    View.MeasureSpec.makeMeasureSpec(WIDTH_PX, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(HEIGHT_PX, View.MeasureSpec.EXACTLY));
+            recyclerView.layout(0, 0, WIDTH_PX, HEIGHT_PX);
+        });
+        assertEquals(posts.size(), recyclerView.getChildCount());
+    }
+
+    private static List<Integer> allIndexes() {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    // Fresh Post instances, as a new query result would deliver them
+    private static List<Post> posts(List<Integer> indexes, int flippedFavorite) {
+        List<Post> posts = new ArrayList<>();
+        for (int i : indexes) {
+            Post post = BookMapper.toPost("vol-" + i, "book title " + i, "description " + i,
+                    null, i % 2 == 0 ? "Programming" : "Technology", "https://example.com/" + i + ".jpg");
+            post.setFavorite((i % 3 == 0) != (i == flippedFavorite));
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import android.content.Context;
+import android.os.Debug;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.nguyenduyhung_se184681.R;
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Binding a recycled row must not allocate once scrolling reaches a steady state
+ */
+@RunWith(AndroidJUnit4.class)
+public class PostBindAllocationTest {
+
+    private static final int POSTS = 20;
+    private static final int ROUNDS = 50;
+
+    @Test
+    public void bindContent_allocatesNothingInSteadyState() {
+        List<Post> posts = samplePosts();
+        long[] allocations = new long[1];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            PostAdapter.PostViewHolder holder = newHolder();
+
+            // Warm up: first setText calls, lazily created view state
+            for (int i = 0; i < POSTS * 2; i++) {
+                holder.bindContent(posts.get(i % POSTS));
+            }
+
+            allocations[0] = countAllocations(() -> {
+                for (int i = 0; i < POSTS * ROUNDS; i++) {
+                    holder.bindContent(posts.get(i % POSTS));
+                }
+            });
+        });
+
+        assertEquals("Allocations during " + POSTS * ROUNDS + " binds", 0, allocations[0]);
+    }
+
+    @Test
+    public void bind_samePostAgain_skipsCoverReloadAndAllocatesNothing() {
+        Post post = samplePosts().get(0);
+        long[] allocations = new long[1];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            PostAdapter.PostViewHolder holder = newHolder();
+            holder.bind(post);
+            holder.bind(post);
+
+            allocations[0] = countAllocations(() -> {
+                for (int i = 0; i < ROUNDS; i++) {
+                    holder.bind(post);
+                }
+            });
+        });
+
+        assertEquals(0, allocations[0]);
+    }
+
+    private static PostAdapter.PostViewHolder newHolder() {
+        Context context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                R.style.Theme_NguyenDuyHungSE184681);
+        View view = LayoutInflater.from(context).inflate(R.layout.item_post, null, false);
+        return new PostAdapter.PostViewHolder(view, position -> null, null);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long countAllocations(Runnable work) {
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        try {
+            work.run();
+        } finally {
+            Debug.stopAllocCounting();
+        }
+        return Debug.getThreadAllocCount();
+    }
+
+    private static List<Post> samplePosts() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            StringBuilder body = new StringBuilder();
+            for (int w = 0; w < 10 + i; w++) {
+                body.append("description ");
+            }
+            Post post = BookMapper.toPost("vol-" + i, "book title " + i, body.toString(),
+                    null, i % 2 == 0 ? "Programming" : "Technology", "https://example.com/" + i + ".jpg");
+            post.setFavorite(i % 3 == 0);
+            posts.add(post);
+        }
+        return posts;
+    }
+}
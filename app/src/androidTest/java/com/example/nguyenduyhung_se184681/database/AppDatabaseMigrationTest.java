@@ -0,0 +1,186 @@
+package com.example.nguyenduyhung_se184681.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Schema migrations against databases written by older app versions
+ * Favorites are the only data the user creates - no upgrade may lose them
+ */
+@RunWith(AndroidJUnit4.class)
+public class AppDatabaseMigrationTest {
+
+    private static final String TEST_DB = "migration_test";
+
+    private Context context;
+    private SupportSQLiteOpenHelper helper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        if (helper != null) {
+            helper.close();
+        }
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void migrate5To6_movesFavoritesIntoTheirOwnTable() {
+        SupportSQLiteDatabase db = openVersion5();
+        long rowIdOfB = rowIdOf(db, "b");
+
+        AppDatabase.MIGRATION_5_6.migrate(db);
+
+        assertEquals(listOf("b", "c"), strings(db, "SELECT postId FROM favorites ORDER BY postId"));
+        assertEquals(3, count(db, "SELECT COUNT(*) FROM posts"));
+        assertEquals(rowIdOfB, rowIdOf(db, "b"));
+        assertFalse(columns(db, "posts").contains("isFavorite"));
+    }
+
+    @Test
+    public void migrate6To7_backfillsTitleKeyAndAddsIndexes() {
+        SupportSQLiteDatabase db = openVersion5();
+        insertPost(db, "d", 4, "\u00c9mile", false);
+        insertPost(db, "e", 5, null, false);
+        AppDatabase.MIGRATION_5_6.migrate(db);
+
+        AppDatabase.MIGRATION_6_7.migrate(db);
+
+        assertEquals(listOf("alpha", "beta", "gamma", "\u00e9mile", ""),
+                strings(db, "SELECT titleKey FROM posts ORDER BY position"));
+        assertEquals(listOf("index_posts_category_position", "index_posts_position",
+                        "index_posts_titleKey"),
+                strings(db, "SELECT name FROM sqlite_master WHERE type = 'index' "
+                        + "AND tbl_name = 'posts' AND name LIKE 'index_%' ORDER BY name"));
+    }
+
+    @Test
+    public void migrate5To8_throughRoom_keepsFavoritesAndPassesValidation() {
+        openVersion5();
+        helper.close();
+        helper = null;
+
+        // No destructive fallback: a missing step or a schema mismatch throws here
+        AppDatabase database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .addMigrations(AppDatabase.MIGRATIONS)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            PostDao postDao = database.postDao();
+            List<String> favorites = new ArrayList<>();
+            for (Post post : postDao.getAllPostsSync()) {
+                if (post.isFavorite()) favorites.add(post.getId());
+            }
+            assertEquals(listOf("b", "c"), favorites);
+            assertEquals("gamma", postDao.getPostByIdSync("c").getTitleKey());
+            assertTrue(postDao.getCatalogCursors().isEmpty());
+        } finally {
+            database.close();
+        }
+    }
+
+    // The version 5 schema, as Room created it, with three posts ("b" and "c" favorited)
+    private SupportSQLiteDatabase openVersion5() {
+        helper = new FrameworkSQLiteOpenHelperFactory().create(
+                SupportSQLiteOpenHelper.Configuration.builder(context)
+                        .name(TEST_DB)
+                        .callback(new SupportSQLiteOpenHelper.Callback(5) {
+                            @Override
+                            public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                                db.execSQL("CREATE TABLE IF NOT EXISTS `posts` (`id` TEXT NOT NULL, "
+                                        + "`position` INTEGER NOT NULL, `userId` INTEGER NOT NULL, "
+                                        + "`title` TEXT, `body` TEXT, `isFavorite` INTEGER NOT NULL, "
+                                        + "`category` TEXT, `imageUrl` TEXT, `contentHash` TEXT, "
+                                        + "PRIMARY KEY(`id`))");
+                                db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `posts_fts` USING "
+                                        + "FTS4(`title` TEXT, `body` TEXT, tokenize=unicode61, "
+                                        + "content=`posts`)");
+                                insertPost(db, "a", 1, "Alpha", false);
+                                insertPost(db, "b", 2, "Beta", true);
+                                insertPost(db, "c", 3, "Gamma", true);
+                                db.execSQL("INSERT INTO posts_fts(posts_fts) VALUES('rebuild')");
+                            }
+
+                            @Override
+                            public void onUpgrade(@NonNull SupportSQLiteDatabase db, int oldVersion,
+                                                  int newVersion) {
+                            }
+                        })
+                        .build());
+        return helper.getWritableDatabase();
+    }
+
+    private static void insertPost(SupportSQLiteDatabase db, String id, int position, String title,
+                                   boolean favorite) {
+        db.execSQL("INSERT INTO posts (id, position, userId, title, body, isFavorite, category, "
+                        + "imageUrl, contentHash) VALUES (?, ?, 1, ?, 'Body', ?, 'Java', NULL, 'h')",
+                new Object[] {id, position, title, favorite ? 1 : 0});
+    }
+
+    private static long rowIdOf(SupportSQLiteDatabase db, String postId) {
+        try (Cursor cursor = db.query("SELECT rowid FROM posts WHERE id = ?", new Object[] {postId})) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+
+    private static int count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+    }
+
+    private static List<String> strings(SupportSQLiteDatabase db, String sql) {
+        List<String> values = new ArrayList<>();
+        try (Cursor cursor = db.query(sql)) {
+            while (cursor.moveToNext()) {
+                values.add(cursor.getString(0));
+            }
+        }
+        return values;
+    }
+
+    private static List<String> columns(SupportSQLiteDatabase db, String table) {
+        List<String> names = new ArrayList<>();
+        try (Cursor cursor = db.query("PRAGMA table_info(`" + table + "`)")) {
+            while (cursor.moveToNext()) {
+                names.add(cursor.getString(cursor.getColumnIndexOrThrow("name")));
+            }
+        }
+        return names;
+    }
+
+    private static List<String> listOf(String... values) {
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.nguyenduyhung_se184681.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.model.CatalogCursor;
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Catalog upsert against an in-memory Room database
+ * Favorite toggles racing with syncs must never be lost
+ * Remote pages are appended after the synced first pages and kept by later syncs
+ */
+@RunWith(AndroidJUnit4.class)
+public class CatalogUpsertStressTest {
+
+    private static final int CATALOG_SIZE = 100;
+    private static final int SYNC_ROUNDS = 200;
+
+    private AppDatabase database;
+    private PostDao postDao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        postDao = database.postDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void upsertCatalog_insertsUpdatesSkipsAndDeletes() {
+        CatalogSyncDelta first = postDao.upsertCatalog(Arrays.asList(
+                book("a", "Alpha", 1), book("b", "Beta", 2), book("c", "Gamma", 3)));
+        assertEquals(3, first.inserted.size());
+
+        postDao.updateFavoriteStatus("b", true);
+
+        // Same catalog again: nothing to write
+        CatalogSyncDelta unchanged = postDao.upsertCatalog(Arrays.asList(
+                book("a", "Alpha", 1), book("b", "Beta", 2), book("c", "Gamma", 3)));
+        assertTrue(unchanged.isEmpty());
+
+        // a changed, b and c left the catalog, d is new
+        CatalogSyncDelta delta = postDao.upsertCatalog(Arrays.asList(
+                book("a", "Alpha 2nd Edition", 1), book("d", "Delta", 2)));
+        assertEquals(Arrays.asList("d"), ids(delta.inserted));
+        assertEquals(Arrays.asList("a"), ids(delta.updated));
+        assertEquals(Arrays.asList("c"), delta.deletedIds);
+
+        assertEquals("Alpha 2nd Edition", postDao.getPostByIdSync("a").getTitle());
+        assertNull(postDao.getPostByIdSync("c"));
+        // Favorites outside the catalog are kept, flag intact
+        assertTrue(postDao.getPostByIdSync("b").isFavorite());
+    }
+
+    @Test
+    public void appendCatalogPage_skipsStoredPostsAndSurvivesRefresh() {
+        postDao.upsertCatalog(
+                Arrays.asList(book("a", "Alpha", 1), book("b", "Beta", 2), book("e", "Epsilon", 3)),
+                Arrays.asList(new CatalogCursor("java", 20, false, 0)));
+
+        // Remote page: "b" is already stored, "c" and "d" are new
+        int min = postDao.getMinPosition();
+        List<Post> inserted = postDao.appendCatalogPage(
+                Arrays.asList(book("b", "Beta", min - 1), book("c", "Gamma", min - 2),
+                        book("d", "Delta", min - 3)),
+                Arrays.asList(new CatalogCursor("java", 40, false, 0)));
+        assertEquals(Arrays.asList("c", "d"), ids(inserted));
+        // The cursor moved past "b", so it now counts as appended
+        assertEquals(0, postDao.getPostByIdSync("b").getPosition());
+        assertEquals(40, postDao.getCatalogCursors().get(0).getNextIndex());
+
+        // A refresh keeps the cursor further along and every appended post
+        CatalogSyncDelta delta = postDao.upsertCatalog(
+                Arrays.asList(book("a", "Alpha", 1), book("c", "Gamma", 2)),
+                Arrays.asList(new CatalogCursor("java", 20, false, 0)));
+        assertEquals(Arrays.asList("e"), delta.deletedIds);
+        assertEquals(40, postDao.getCatalogCursors().get(0).getNextIndex());
+        assertNotNull(postDao.getPostByIdSync("b"));
+        assertNotNull(postDao.getPostByIdSync("d"));
+        // Back in the first pages, but still appended: the next sync cannot drop it
+        assertEquals(-1, postDao.getPostByIdSync("c").getPosition());
+        assertEquals(-2, postDao.getMinPosition());
+    }
+
+    @Test
+    public void upsertCatalog_neverLosesConcurrentFavoriteToggles() throws Exception {
+        postDao.upsertCatalog(catalog(0));
+
+        boolean[] expected = new boolean[CATALOG_SIZE];
+        AtomicBoolean syncing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> toggler = executor.submit(() -> {
+                start.await();
+                Random random = new Random(42);
+                int toggles = 0;
+                while (syncing.get()) {
+                    int i = random.nextInt(CATALOG_SIZE);
+                    expected[i] = !expected[i];
+                    postDao.updateFavoriteStatus(volumeId(i), expected[i]);
+                    toggles++;
+                }
+                return toggles;
+            });
+            Future<?> syncer = executor.submit(() -> {
+                start.await();
+                try {
+                    // Every round rewrites every row (new titles, so new hashes)
+                    for (int round = 1; round <= SYNC_ROUNDS; round++) {
+                        assertEquals(CATALOG_SIZE, postDao.upsertCatalog(catalog(round)).updated.size());
+                    }
+                } finally {
+                    syncing.set(false);
+                }
+                return null;
+            });
+
+            start.countDown();
+            syncer.get(2, TimeUnit.MINUTES);
+            assertTrue("Toggles should interleave with syncs",
+                    toggler.get(2, TimeUnit.MINUTES) > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Post stored = postDao.getPostByIdSync(volumeId(i));
+            assertEquals("Favorite flag of " + stored.getId(), expected[i], stored.isFavorite());
+            assertEquals("Book " + i + " (round " + SYNC_ROUNDS + ")", stored.getTitle());
+        }
+    }
+
+    private static List<Post> catalog(int round) {
+        List<Post> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(book(volumeId(i), "Book " + i + " (round " + round + ")", i + 1));
+        }
+        return catalog;
+    }
+
+    private static Post book(String volumeId, String title, int position) {
+        Post post = BookMapper.toPost(volumeId, title, null, null, null, null);
+        BookMapper.assignPosition(post, position);
+        return post;
+    }
+
+    private static String volumeId(int i) {
+        return "vol-" + i;
+    }
+
+    private static List<String> ids(List<Post> posts) {
+        List<String> ids = new ArrayList<>();
+        for (Post post : posts) {
+            ids.add(post.getId());
+        }
+        return ids;
+    }
+}
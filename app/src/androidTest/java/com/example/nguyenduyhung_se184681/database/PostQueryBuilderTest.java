@@ -0,0 +1,129 @@
+package com.example.nguyenduyhung_se184681.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.util.PostFilter;
+import com.example.nguyenduyhung_se184681.util.TitleNgramIndex;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Filters compiled by PostQueryBuilder must select exactly what the in-memory
+ * PostFilter selects, in the same order
+ */
+@RunWith(AndroidJUnit4.class)
+public class PostQueryBuilderTest {
+
+    private static final String[] WORDS = {"java", "android", "clean", "code", "design", "mobile", "100%", "data_base"};
+    private static final String[] CATEGORIES = {"Programming", "Technology", "Business", "Education"};
+
+    private AppDatabase database;
+    private List<Post> catalog;
+    private TitleNgramIndex titleIndex;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        PostDao postDao = database.postDao();
+
+        Random random = new Random(3);
+        catalog = new ArrayList<>();
+        titleIndex = new TitleNgramIndex();
+        for (int i = 0; i < 300; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + (random.nextBoolean() ? " Guide " : " guide ") + i;
+            Post post = BookMapper.toPost("vol-" + i, title, null, null,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], null);
+            BookMapper.assignPosition(post, i + 1);
+            catalog.add(post);
+            titleIndex.put(post.getId(), post.getTitle());
+        }
+        postDao.upsertCatalog(catalog);
+        for (Post post : catalog) {
+            if (random.nextInt(4) == 0) {
+                postDao.updateFavoriteStatus(post.getId(), true);
+                post.setFavorite(true);
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void build_matchesInMemoryFilter() {
+        List<PostFilter> filters = new ArrayList<>();
+        for (String sort : new String[]{PostFilter.SORT_NEWEST, PostFilter.SORT_OLDEST, PostFilter.SORT_TITLE}) {
+            for (boolean favoritesOnly : new boolean[]{false, true}) {
+                for (String query : new String[]{"", "a", "java", "CLEAN CO", "100%", "_b", "nothing"}) {
+                    PostFilter base = new PostFilter(query, new HashSet<>(), sort, favoritesOnly);
+                    filters.add(base);
+                    filters.add(base.withCategories(new HashSet<>(Arrays.asList("Programming", "Business"))));
+                }
+            }
+        }
+
+        for (PostFilter filter : filters) {
+            List<String> expected = ids(inMemory(filter));
+            assertEquals(describe(filter, "index"), expected, query(PostQueryBuilder.build(filter, titleIndex)));
+            assertEquals(describe(filter, "LIKE"), expected, query(PostQueryBuilder.build(filter, null)));
+        }
+    }
+
+    private List<Post> inMemory(PostFilter filter) {
+        List<Post> source = new ArrayList<>();
+        for (Post post : catalog) {
+            if (!filter.isFavoritesOnly() || post.isFavorite()) {
+                source.add(post);
+            }
+        }
+        return filter.apply(source);
+    }
+
+    private List<String> query(SimpleSQLiteQuery query) {
+        List<String> ids = new ArrayList<>();
+        try (Cursor cursor = database.query(query)) {
+            int idColumn = cursor.getColumnIndexOrThrow("id");
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getString(idColumn));
+            }
+        }
+        return ids;
+    }
+
+    private static List<String> ids(List<Post> posts) {
+        List<String> ids = new ArrayList<>();
+        for (Post post : posts) {
+            ids.add(post.getId());
+        }
+        return ids;
+    }
+
+    private static String describe(PostFilter filter, String searchMode) {
+        return "query=\"" + filter.getSearchQuery() + "\" categories=" + filter.getCategories()
+                + " sort=" + filter.getSortOrder() + " favoritesOnly=" + filter.isFavoritesOnly()
+                + " (" + searchMode + ")";
+    }
+}
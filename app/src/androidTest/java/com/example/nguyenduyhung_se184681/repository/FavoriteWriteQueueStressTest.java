@@ -0,0 +1,170 @@
+package com.example.nguyenduyhung_se184681.repository;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.database.AppDatabase;
+import com.example.nguyenduyhung_se184681.database.PostDao;
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+/**
+ * Favorite write-behind queue against an in-memory Room database
+ * Thousands of toggles from several threads must leave every post flipped
+ * once per odd number of toggles, written in far fewer transactions
+ */
+@RunWith(AndroidJUnit4.class)
+public class FavoriteWriteQueueStressTest {
+
+    private static final int CATALOG_SIZE = 50;
+    private static final int THREADS = 4;
+    private static final int TOGGLES_PER_THREAD = 2000;
+    private static final long FLUSH_DELAY_MS = 5;
+
+    private AppDatabase database;
+    private PostDao postDao;
+    private ExecutorService writer;
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        postDao = database.postDao();
+        writer = Executors.newSingleThreadExecutor();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        writer.shutdownNow();
+        database.close();
+    }
+
+    @Test
+    public void flipFavorites_flipsEachPostOnce() {
+        postDao.upsertCatalog(catalog());
+        postDao.updateFavoriteStatus(volumeId(1), true);
+
+        List<String> ids = new ArrayList<>();
+        ids.add(volumeId(0));
+        ids.add(volumeId(1));
+        postDao.flipFavorites(ids);
+
+        assertTrue(postDao.isFavorite(volumeId(0)));
+        assertFalse(postDao.isFavorite(volumeId(1)));
+        assertFalse(postDao.isFavorite(volumeId(2)));
+    }
+
+    @Test
+    public void concurrentToggles_endInParityState() throws Exception {
+        postDao.upsertCatalog(catalog());
+        boolean[] initial = new boolean[CATALOG_SIZE];
+        for (int i = 0; i < CATALOG_SIZE; i += 3) {
+            initial[i] = true;
+            postDao.updateFavoriteStatus(volumeId(i), true);
+        }
+
+        AtomicInteger transactions = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        FavoriteWriteQueue queue = new FavoriteWriteQueue(
+                postIds -> {
+                    transactions.incrementAndGet();
+                    postDao.flipFavorites(postIds);
+                },
+                writer,
+                (task, delayMs) -> scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS),
+                FLUSH_DELAY_MS);
+        PostRepository.FavoriteCallback callback = new PostRepository.FavoriteCallback() {
+            @Override
+            public void onSuccess(boolean isFavorite) {
+            }
+
+            @Override
+            public void onError(String error) {
+                errors.incrementAndGet();
+            }
+        };
+
+        AtomicIntegerArray toggleCounts = new AtomicIntegerArray(CATALOG_SIZE);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService togglers = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int seed = t;
+                results.add(togglers.submit(() -> {
+                    start.await();
+                    Random random = new Random(seed);
+                    for (int n = 0; n < TOGGLES_PER_THREAD; n++) {
+                        int i = random.nextInt(CATALOG_SIZE);
+                        // Rows as a screen would see them: possibly stale
+                        Post stored = postDao.getPostByIdSync(volumeId(i));
+                        queue.toggle(stored.getId(), stored.isFavorite(), callback);
+                        toggleCounts.incrementAndGet(i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            togglers.shutdownNow();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (queue.getPendingCount() > 0) {
+            assertTrue("Queued toggles should be written", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, errors.get());
+        assertTrue("Toggles should be batched, got " + transactions.get() + " transactions",
+                transactions.get() < THREADS * TOGGLES_PER_THREAD);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            boolean expected = initial[i] ^ (toggleCounts.get(i) % 2 == 1);
+            Post stored = postDao.getPostByIdSync(volumeId(i));
+            assertEquals("Favorite flag of " + stored.getId(), expected, stored.isFavorite());
+            assertEquals(expected, queue.isFavorite(stored.getId(), stored.isFavorite()));
+        }
+    }
+
+    private static List<Post> catalog() {
+        List<Post> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Post post = BookMapper.toPost(volumeId(i), "Book " + i, null, null, null, null);
+            BookMapper.assignPosition(post, i + 1);
+            catalog.add(post);
+        }
+        return catalog;
+    }
+
+    private static String volumeId(int i) {
+        return "vol-" + i;
+    }
+}
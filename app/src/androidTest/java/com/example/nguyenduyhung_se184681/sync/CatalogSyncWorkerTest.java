@@ -0,0 +1,174 @@
+package com.example.nguyenduyhung_se184681.sync;
+
+import android.app.Application;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.work.Configuration;
+import androidx.work.ListenableWorker;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.WorkerFactory;
+import androidx.work.WorkerParameters;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestDriver;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.example.nguyenduyhung_se184681.api.RetrofitClient;
+import com.example.nguyenduyhung_se184681.database.AppDatabase;
+import com.example.nguyenduyhung_se184681.database.PostDao;
+import com.example.nguyenduyhung_se184681.repository.PostRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the periodic catalog sync through WorkManager's test driver, against a
+ * local MockWebServer standing in for Google Books
+ * Note: writes to the app's own database (the posts table is cleared first)
+ */
+@RunWith(AndroidJUnit4.class)
+public class CatalogSyncWorkerTest {
+
+    // PostRepository runs five search queries, two books each
+    private static final int QUERY_COUNT = 5;
+    private static final int BOOKS_PER_QUERY = 2;
+
+    private Context context;
+    private MockWebServer server;
+    private PostDao postDao;
+    private volatile boolean serverFailing;
+
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (serverFailing) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                return new MockResponse().setBody(page(request.getRequestUrl().queryParameter("q")));
+            }
+        });
+        server.start();
+
+        postDao = AppDatabase.getInstance(context).postDao();
+        postDao.deleteAll();
+
+        PostRepository repository = new PostRepository((Application) context.getApplicationContext(),
+                RetrofitClient.createApiService(server.url("/").toString()));
+        WorkerFactory workerFactory = new WorkerFactory() {
+            @Nullable
+            @Override
+            public ListenableWorker createWorker(@NonNull Context appContext, @NonNull String workerClassName,
+                                                 @NonNull WorkerParameters params) {
+                if (CatalogSyncWorker.class.getName().equals(workerClassName)) {
+                    return new CatalogSyncWorker(appContext, params, repository::syncFromApi);
+                }
+                return null;
+            }
+        };
+        Configuration config = new Configuration.Builder()
+                .setWorkerFactory(workerFactory)
+                .setExecutor(new SynchronousExecutor())
+                .setMinimumLoggingLevel(Log.DEBUG)
+                .build();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, config);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        postDao.deleteAll();
+    }
+
+    @Test
+    public void request_needsUnmeteredNetworkAndBatteryNotLow() {
+        PeriodicWorkRequest request = CatalogSyncWorker.buildRequest();
+
+        assertEquals(NetworkType.UNMETERED, request.getWorkSpec().constraints.getRequiredNetworkType());
+        assertTrue(request.getWorkSpec().constraints.requiresBatteryNotLow());
+        assertTrue(request.getWorkSpec().isPeriodic());
+    }
+
+    @Test
+    public void schedule_doesNothingUntilConstraintsAreMet() throws Exception {
+        CatalogSyncWorker.schedule(context);
+        // Scheduling again keeps the existing periodic work
+        CatalogSyncWorker.schedule(context);
+
+        List<WorkInfo> infos = workInfos();
+        assertEquals(1, infos.size());
+        assertEquals(WorkInfo.State.ENQUEUED, infos.get(0).getState());
+        assertEquals(0, server.getRequestCount());
+        assertEquals(0, postDao.getPostCount());
+    }
+
+    @Test
+    public void constraintsMet_syncsCatalogIntoRoom() throws Exception {
+        CatalogSyncWorker.schedule(context);
+        UUID id = workInfos().get(0).getId();
+
+        TestDriver driver = WorkManagerTestInitHelper.getTestDriver(context);
+        driver.setAllConstraintsMet(id);
+        driver.setPeriodDelayMet(id);
+
+        assertEquals(QUERY_COUNT, server.getRequestCount());
+        assertEquals(QUERY_COUNT * BOOKS_PER_QUERY, postDao.getPostCount());
+        // Periodic work goes back to waiting for its next period
+        assertEquals(WorkInfo.State.ENQUEUED, workInfos().get(0).getState());
+    }
+
+    @Test
+    public void serverErrors_retryLaterWithoutTouchingRoom() throws Exception {
+        serverFailing = true;
+        CatalogSyncWorker.schedule(context);
+        UUID id = workInfos().get(0).getId();
+
+        TestDriver driver = WorkManagerTestInitHelper.getTestDriver(context);
+        driver.setAllConstraintsMet(id);
+        driver.setPeriodDelayMet(id);
+
+        WorkInfo info = workInfos().get(0);
+        assertEquals(WorkInfo.State.ENQUEUED, info.getState());
+        assertEquals(1, info.getRunAttemptCount());
+        assertEquals(0, postDao.getPostCount());
+    }
+
+    private List<WorkInfo> workInfos() throws Exception {
+        return WorkManager.getInstance(context)
+                .getWorkInfosForUniqueWork(CatalogSyncWorker.UNIQUE_WORK_NAME).get();
+    }
+
+    private static String page(String query) {
+        StringBuilder json = new StringBuilder("{\"totalItems\":" + BOOKS_PER_QUERY + ",\"items\":[");
+        for (int i = 1; i <= BOOKS_PER_QUERY; i++) {
+            if (i > 1) json.append(',');
+            String id = query.replace(' ', '-') + "-" + i;
+            json.append("{\"id\":\"").append(id).append("\",\"volumeInfo\":{\"title\":\"Book ")
+                    .append(id).append("\"}}");
+        }
+        return json.append("]}").toString();
+    }
+}
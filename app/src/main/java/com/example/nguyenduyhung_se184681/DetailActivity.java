@@ -1,6 +1,8 @@
 package com.example.nguyenduyhung_se184681;
 
 import android.app.Dialog;
+import android.content.Context;
+import android.content.Intent;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
 import android.os.Bundle;
@@ -17,15 +19,25 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.example.nguyenduyhung_se184681.adapter.PostAdapter;
+import com.example.nguyenduyhung_se184681.image.CoverImage;
+import com.example.nguyenduyhung_se184681.metrics.DrawTimer;
+import com.example.nguyenduyhung_se184681.metrics.Histogram;
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
 import com.example.nguyenduyhung_se184681.model.Post;
 import com.example.nguyenduyhung_se184681.repository.PostRepository;
 import com.example.nguyenduyhung_se184681.viewmodel.PostViewModel;
 
+import java.util.Objects;
+
 /**
  * Detail Activity - Shows complete details for a selected book
  * Features:
  * - Receives book ID as intent extra
+ * - Shows the post right away when it is in the post cache (the tapped list row),
+ *   with the list's decoded cover as the first frame; Room refreshes it after
  * - Displays all book details (title, body, REAL image, category, user ID)
  * - Toggle favorite button with immediate state update
  * - Back button to return to main screen
@@ -33,6 +45,14 @@ import com.example.nguyenduyhung_se184681.viewmodel.PostViewModel;
 public class DetailActivity extends AppCompatActivity {
 
     public static final String EXTRA_POST_ID = "extra_post_id";
+    // System.nanoTime() of the tap that opened the screen
+    public static final String EXTRA_OPENED_AT = "extra_opened_at";
+
+    // Tap to content drawn, for posts shown from the cache and posts loaded from Room
+    private static final Histogram OPEN_CACHED_TIME =
+            MetricsRegistry.getDefault().timer("ui.detail_open.cached");
+    private static final Histogram OPEN_LOADED_TIME =
+            MetricsRegistry.getDefault().timer("ui.detail_open.loaded");
 
     private PostViewModel viewModel;
     private Post currentPost;
@@ -47,6 +67,18 @@ public class DetailActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     private View contentLayout;
     private TextView errorTextView;
+    // Cover currently requested; a refreshed post with the same URL keeps it
+    private String boundImageUrl;
+    private boolean coverBound;
+    private long openedAtNanos;
+
+    // Intent for a tapped post; cache the post first (PostViewModel.cachePost) to open instantly
+    public static Intent newIntent(Context context, String postId) {
+        Intent intent = new Intent(context, DetailActivity.class);
+        intent.putExtra(EXTRA_POST_ID, postId);
+        intent.putExtra(EXTRA_OPENED_AT, System.nanoTime());
+        return intent;
+    }
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -60,9 +92,13 @@ public class DetailActivity extends AppCompatActivity {
         initViews();
 
         // Get post ID from intent
-        int postId = getIntent().getIntExtra(EXTRA_POST_ID, -1);
+        String postId = getIntent().getStringExtra(EXTRA_POST_ID);
+        // Only the first creation is timed, not a re-creation (e.g. rotation)
+        if (savedInstanceState == null) {
+            openedAtNanos = getIntent().getLongExtra(EXTRA_OPENED_AT, 0);
+        }
 
-        if (postId == -1) {
+        if (postId == null) {
             showError("Invalid book ID");
             return;
         }
@@ -99,21 +135,40 @@ public class DetailActivity extends AppCompatActivity {
         });
     }
 
-    private void loadPostData(int postId) {
-        showLoading();
+    private void loadPostData(String postId) {
+        // Show the cached copy now, then whatever Room has
+        Post cached = viewModel.getCachedPost(postId);
+        if (cached != null) {
+            currentPost = cached;
+            displayPostData(cached);
+            hideLoading();
+            recordOpenTime(OPEN_CACHED_TIME);
+        } else {
+            showLoading();
+        }
 
         // Observe post data from database
         viewModel.getPostById(postId).observe(this, post -> {
             if (post != null) {
+                boolean firstContent = currentPost == null;
                 currentPost = post;
                 displayPostData(post);
                 hideLoading();
+                if (firstContent) {
+                    recordOpenTime(OPEN_LOADED_TIME);
+                }
             } else {
                 showError("Book not found");
             }
         });
     }
 
+    private void recordOpenTime(Histogram histogram) {
+        if (openedAtNanos == 0) return;
+        DrawTimer.recordUntilNextDraw(contentLayout, histogram, openedAtNanos);
+        openedAtNanos = 0;
+    }
+
     private void displayPostData(Post post) {
         // Display title
         titleTextView.setText(post.getTitle());
@@ -127,49 +182,58 @@ public class DetailActivity extends AppCompatActivity {
         // Display user ID
         userIdTextView.setText("Author ID: #" + post.getUserId());
 
-        // Update favorite button state
-        updateFavoriteButton(post.isFavorite());
+        // Update favorite button state (toggles not written yet included)
+        updateFavoriteButton(viewModel.isFavorite(post));
 
-        // Load REAL image using Glide with improved configuration
-        Glide.with(this)
-                .load(post.getImageUrl())
+        bindCover(post.getImageUrl());
+
+        // Show content
+        contentLayout.setVisibility(View.VISIBLE);
+        errorTextView.setVisibility(View.GONE);
+    }
+
+    /**
+     * Load REAL image using Glide, sized to the cover view (CoverImage picks the variant)
+     * The list row's cover is the thumbnail: already decoded in memory, so it is
+     * drawn in the first frame while the larger cover loads
+     */
+    private void bindCover(String imageUrl) {
+        if (coverBound && Objects.equals(imageUrl, boundImageUrl)) return;
+        boundImageUrl = imageUrl;
+        coverBound = true;
+
+        RequestManager glide = Glide.with(this);
+        glide.load(new CoverImage(imageUrl))
+                .thumbnail(PostAdapter.cachedCoverRequest(glide, this, imageUrl))
                 .diskCacheStrategy(DiskCacheStrategy.ALL)
                 .placeholder(R.drawable.ic_placeholder)
                 .error(R.drawable.ic_placeholder)
                 .fitCenter() // Better than centerCrop for detail view
                 .into(imageView);
-
-        // Show content
-        contentLayout.setVisibility(View.VISIBLE);
-        errorTextView.setVisibility(View.GONE);
     }
 
     private void toggleFavorite() {
         if (currentPost == null) return;
 
-        // Disable button during operation
-        favoriteButton.setEnabled(false);
-
-        // Toggle favorite status
+        // Toggle favorite status - the new state comes back right away and is
+        // written in the background, so the button stays enabled
         viewModel.toggleFavorite(currentPost, new PostRepository.FavoriteCallback() {
             @Override
             public void onSuccess(boolean isFavorite) {
-                runOnUiThread(() -> {
-                    // Update UI immediately
-                    updateFavoriteButton(isFavorite);
-                    favoriteButton.setEnabled(true);
-
-                    // Show toast
-                    String message = isFavorite ?
-                            "Added to favorites" : "Removed from favorites";
-                    Toast.makeText(DetailActivity.this, message, Toast.LENGTH_SHORT).show();
-                });
+                updateFavoriteButton(isFavorite);
+
+                String message = isFavorite ?
+                        "Added to favorites" : "Removed from favorites";
+                Toast.makeText(DetailActivity.this, message, Toast.LENGTH_SHORT).show();
             }
 
             @Override
             public void onError(String message) {
+                // Called from the write thread once the queued write has failed
                 runOnUiThread(() -> {
-                    favoriteButton.setEnabled(true);
+                    if (currentPost != null) {
+                        updateFavoriteButton(viewModel.isFavorite(currentPost));
+                    }
                     Toast.makeText(DetailActivity.this,
                             "Error: " + message, Toast.LENGTH_SHORT).show();
                 });
@@ -244,7 +308,7 @@ public class DetailActivity extends AppCompatActivity {
         // Load high-quality image with Glide
         loadingProgress.setVisibility(View.VISIBLE);
         Glide.with(this)
-                .load(imageUrl)
+                .load(new CoverImage(imageUrl))
                 .diskCacheStrategy(DiskCacheStrategy.ALL)
                 .fitCenter() // Full image, high quality
                 .error(R.drawable.ic_placeholder)
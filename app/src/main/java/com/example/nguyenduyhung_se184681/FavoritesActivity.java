@@ -1,6 +1,5 @@
 package com.example.nguyenduyhung_se184681;
 
-import android.content.Intent;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
@@ -13,13 +12,14 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.nguyenduyhung_se184681.adapter.CoverPreloader;
 import com.example.nguyenduyhung_se184681.adapter.PostAdapter;
 import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.util.PostFilter;
 import com.example.nguyenduyhung_se184681.viewmodel.PostViewModel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Favorites Activity - Favorites Screen (Screen 3)
@@ -84,6 +84,8 @@ public class FavoritesActivity extends AppCompatActivity implements PostAdapter.
         recyclerView.setAdapter(adapter);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setHasFixedSize(true);
+        // Load covers ahead of the scroll so rows don't show placeholders
+        CoverPreloader.attach(recyclerView, CoverPreloader.DEFAULT_PRELOAD_COUNT);
     }
 
     private void setupSearch() {
@@ -181,7 +183,7 @@ public class FavoritesActivity extends AppCompatActivity implements PostAdapter.
 
     /**
      * Apply search filter to the favorite posts
-     * Filters are applied client-side on the in-memory list
+     * Matched on the favorites' own title keys - cheap enough to run on each keystroke
      */
     private void applyFilters() {
         if (allFavorites.isEmpty()) {
@@ -189,18 +191,8 @@ public class FavoritesActivity extends AppCompatActivity implements PostAdapter.
             return;
         }
 
-        List<Post> filteredPosts = new ArrayList<>(allFavorites);
-
         // Apply search filter (search by book title only - null-safe)
-        if (!currentSearchQuery.isEmpty()) {
-            String query = currentSearchQuery.toLowerCase();
-            filteredPosts = filteredPosts.stream()
-                    .filter(post -> {
-                        String title = post.getTitle() != null ? post.getTitle().toLowerCase() : "";
-                        return title.contains(query);
-                    })
-                    .collect(Collectors.toList());
-        }
+        List<Post> filteredPosts = PostFilter.filterByTitle(allFavorites, currentSearchQuery);
 
         // Update adapter
         if (filteredPosts.isEmpty()) {
@@ -217,10 +209,9 @@ public class FavoritesActivity extends AppCompatActivity implements PostAdapter.
 
     @Override
     public void onPostClick(Post post) {
-        // Navigate to detail screen
-        Intent intent = new Intent(this, DetailActivity.class);
-        intent.putExtra(DetailActivity.EXTRA_POST_ID, post.getId());
-        startActivity(intent);
+        // Navigate to detail screen; the cached row lets it show without waiting for Room
+        viewModel.cachePost(post);
+        startActivity(DetailActivity.newIntent(this, post.getId()));
     }
 
     private void showEmptyState() {
@@ -1,5 +1,6 @@
 package com.example.nguyenduyhung_se184681;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.text.Editable;
@@ -13,41 +14,69 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
+import androidx.paging.PagingData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
+import com.bumptech.glide.Glide;
+import com.example.nguyenduyhung_se184681.adapter.CoverPreloader;
+import com.example.nguyenduyhung_se184681.adapter.PagedPostAdapter;
 import com.example.nguyenduyhung_se184681.adapter.PostAdapter;
+import com.example.nguyenduyhung_se184681.metrics.DrawTimer;
+import com.example.nguyenduyhung_se184681.metrics.Histogram;
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
+import com.example.nguyenduyhung_se184681.metrics.MetricsReporter;
+import com.example.nguyenduyhung_se184681.metrics.StartupTimer;
 import com.example.nguyenduyhung_se184681.model.Post;
 import com.example.nguyenduyhung_se184681.repository.PostRepository;
+import com.example.nguyenduyhung_se184681.sync.CatalogSyncWorker;
+import com.example.nguyenduyhung_se184681.util.AppExecutors;
+import com.example.nguyenduyhung_se184681.util.FirstDraw;
 import com.example.nguyenduyhung_se184681.util.NetworkUtils;
+import com.example.nguyenduyhung_se184681.util.PostFilter;
 import com.example.nguyenduyhung_se184681.viewmodel.PostViewModel;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+
+import kotlin.Unit;
 
 /**
  * Main Activity - List Screen
  * Features:
  * - Displays posts in RecyclerView with LazyColumn-like behavior
- * - Search bar for filtering posts
+ * - Unfiltered list is paged from the database (only nearby pages kept in memory);
+ *   near its end, more books are fetched from Google Books and appended to Room
+ * - Search bar for filtering posts (debounced, filtered off the main thread by PostViewModel)
  * - Category filters (dynamically generated from data)
  * - Pull-to-refresh to fetch latest data
  * - Offline-first: Shows cached data when network unavailable
  * - Navigation to detail screen on item click
+ * - Cold start: the list is shown from Room first; chips, cover preloading, Glide and
+ *   sync scheduling wait for the first frame (see CatalogApp)
+ * - Metrics: time from a filtered list emission until it is drawn ("ui.emit_to_render");
+ *   a snapshot is dumped when the screen stops (MetricsReporter)
  */
 public class MainActivity extends AppCompatActivity implements PostAdapter.OnPostClickListener {
 
+    private static final Histogram EMIT_TO_RENDER =
+            MetricsRegistry.getDefault().timer("ui.emit_to_render");
+
+    // Fetch more books from the API once the paged list has this many rows left below the screen
+    private static final int REMOTE_PREFETCH_ROWS = PostViewModel.PAGE_SIZE * 2;
+
     private PostViewModel viewModel;
     private PostAdapter adapter;
+    private PagedPostAdapter pagedAdapter;
 
     // UI Components
     private RecyclerView recyclerView;
@@ -63,37 +92,22 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
     private ChipGroup filterChipGroup;
     private ChipGroup sortChipGroup;
 
-    // State
-    private String currentSearchQuery = "";
-    private Set<String> selectedCategories = new HashSet<>();
-    private boolean showFavoritesOnly = false;
-    private String sortOrder = "newest"; // "newest", "oldest", "title"
-    // Keep reference to currently observed LiveData so we can remove observers cleanly
-    private androidx.lifecycle.LiveData<java.util.List<Post>> activePostsLiveData = null;
+    // State (the filter itself lives in PostViewModel)
     // Keep reference to category "All" chip to avoid ID conflict with filter "All" chip
     private Chip categoryAllChip = null;
-    // Cache all posts to avoid re-observing LiveData
-    private List<Post> allPostsCache = new ArrayList<>();
-    private boolean isLiveDataObserved = false;
+    // Paged source used when no search/category/favorites filter is active
+    private LiveData<PagingData<Post>> activePagedLiveData = null;
+    // The paged list has loaded the last row stored in Room
+    private boolean pagedListAtEnd = false;
+    // Paged row count when remote pages were last asked for; only a longer list asks again
+    private int remoteRequestedAtCount = -1;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        // Restore state if available
-        if (savedInstanceState != null) {
-            ArrayList<String> savedCategories = savedInstanceState.getStringArrayList("selectedCategories");
-            if (savedCategories != null) {
-                selectedCategories = new HashSet<>(savedCategories);
-                android.util.Log.d("MainActivity", "Restored selectedCategories from savedInstanceState: " + selectedCategories);
-            }
-            showFavoritesOnly = savedInstanceState.getBoolean("showFavoritesOnly", false);
-            currentSearchQuery = savedInstanceState.getString("currentSearchQuery", "");
-            sortOrder = savedInstanceState.getString("sortOrder", "newest");
-        }
-
-        // Initialize ViewModel
+        // Initialize ViewModel (keeps the filter state across rotation and process death)
         viewModel = new ViewModelProvider(this).get(PostViewModel.class);
 
         // Initialize views
@@ -108,11 +122,43 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
         // Setup filters
         setupFilters();
 
-        // Load initial data
+        // Show whatever the current filter selects
+        observeFilterPipeline();
+
+        // Load initial data (from Room; the network only when there is nothing stored yet)
         loadData();
 
         // Setup pull-to-refresh
         swipeRefreshLayout.setOnRefreshListener(this::refreshData);
+
+        // Everything the first frame does not need waits for it
+        FirstDraw.runAfter(getWindow().getDecorView(), this::onFirstFrameDrawn);
+    }
+
+    /**
+     * Startup work deferred until the first frame is on screen
+     * Glide is initialized on the sync lane; cover preloading starts once it is ready
+     */
+    private void onFirstFrameDrawn() {
+        if (isDestroyed()) return;
+
+        // Category chips (one per category in the database)
+        loadCategories();
+
+        // Refresh the catalog periodically in the background (unmetered network, battery not low)
+        CatalogSyncWorker.schedule(getApplicationContext());
+
+        Context appContext = getApplicationContext();
+        AppExecutors executors = AppExecutors.getInstance();
+        executors.sync().execute(() -> {
+            Glide.get(appContext);
+            executors.mainThread().execute(() -> {
+                // Load covers ahead of the scroll so rows don't show placeholders
+                if (!isDestroyed()) {
+                    CoverPreloader.attach(recyclerView, CoverPreloader.DEFAULT_PRELOAD_COUNT);
+                }
+            });
+        });
     }
 
     private void initViews() {
@@ -143,9 +189,73 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
 
     private void setupRecyclerView() {
         adapter = new PostAdapter(this);
+        pagedAdapter = new PagedPostAdapter(this);
         recyclerView.setAdapter(adapter);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setHasFixedSize(true);
+
+        // Empty state for the paged list once the first page has loaded
+        pagedAdapter.addLoadStateListener(loadStates -> {
+            if (recyclerView.getAdapter() == pagedAdapter
+                    && loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                if (pagedAdapter.getItemCount() == 0) {
+                    showError("No data", "No books available", false);
+                } else {
+                    showContent();
+                }
+            }
+            pagedListAtEnd = loadStates.getSource().getAppend().getEndOfPaginationReached();
+            loadMoreIfNearEnd();
+            return Unit.INSTANCE;
+        });
+
+        // Remote paging follows the scroll position
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView view, int dx, int dy) {
+                if (dy > 0) {
+                    loadMoreIfNearEnd();
+                }
+            }
+        });
+    }
+
+    /**
+     * Ask for the next remote pages once every stored row is loaded and the last one is
+     * within REMOTE_PREFETCH_ROWS of the screen; the fetch runs in the background and
+     * the list grows when Room has the new rows
+     * - only for the plain catalog in newest-first order: the only list where appended
+     *   rows (lowest positions) land below the screen; anywhere else the end would stay
+     *   on screen and every append would ask for another
+     * - at most once per list length, so an append that adds nothing is not repeated;
+     *   a failed append may be asked for again
+     */
+    private void loadMoreIfNearEnd() {
+        if (recyclerView.getAdapter() != pagedAdapter || !pagedListAtEnd) return;
+        PostFilter filter = viewModel.getCurrentFilter();
+        if (!filter.isBrowseMode() || !PostFilter.SORT_NEWEST.equals(filter.getSortOrder())) return;
+
+        int itemCount = pagedAdapter.getItemCount();
+        if (itemCount <= remoteRequestedAtCount) return;
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        if (layoutManager == null) return;
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible != RecyclerView.NO_POSITION
+                && lastVisible >= itemCount - REMOTE_PREFETCH_ROWS) {
+            remoteRequestedAtCount = itemCount;
+            viewModel.loadMoreFromApi(new PostRepository.FetchCallback() {
+                @Override
+                public void onSuccess() {
+                    // The list grows through Room; nothing to do here
+                }
+
+                @Override
+                public void onError(String message) {
+                    // Let the next scroll ask again (the repository spaces out retries)
+                    runOnUiThread(() -> remoteRequestedAtCount = -1);
+                }
+            });
+        }
     }
 
     private void setupSearch() {
@@ -156,11 +266,8 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                currentSearchQuery = s.toString().trim();
-                // Apply filters with real-time search
-                applyFilters();
-                // Update search status visibility
-                updateSearchStatus();
+                // Real-time search, debounced by the ViewModel
+                viewModel.setSearchQuery(s.toString());
             }
 
             @Override
@@ -180,10 +287,8 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                     imm.hideSoftInputFromWindow(searchEditText.getWindowToken(), 0);
                 }
 
-                // Perform search
-                currentSearchQuery = searchEditText.getText().toString().trim();
-                applyFilters();
-                updateSearchStatus();
+                // Perform search now, without waiting for the debounce
+                viewModel.submitSearchQuery(searchEditText.getText().toString());
 
                 return true;
             }
@@ -202,9 +307,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
         if (clearSearchBtn != null) {
             clearSearchBtn.setOnClickListener(v -> {
                 searchEditText.setText("");
-                currentSearchQuery = "";
-                applyFilters();
-                updateSearchStatus();
+                viewModel.submitSearchQuery("");
             });
         }
     }
@@ -212,16 +315,28 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
     /**
      * Update search status visibility based on current search query
      */
-    private void updateSearchStatus() {
+    private void updateSearchStatus(PostFilter filter) {
         ImageView clearSearchBtn = findViewById(R.id.clear_search_btn);
         if (clearSearchBtn != null) {
-            clearSearchBtn.setVisibility(!currentSearchQuery.isEmpty() ? View.VISIBLE : View.GONE);
+            clearSearchBtn.setVisibility(!filter.getSearchQuery().isEmpty() ? View.VISIBLE : View.GONE);
+        }
+    }
+
+    /**
+     * Hide category filters when Favorites is selected
+     */
+    private void updateCategoryVisibility(PostFilter filter) {
+        View categoryScrollView = findViewById(R.id.category_scroll_view);
+        if (categoryScrollView != null) {
+            categoryScrollView.setVisibility(filter.isFavoritesOnly() ? View.GONE : View.VISIBLE);
         }
     }
 
     private void setupFilters() {
         // Setup All/Favorites filter
         filterChipGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            boolean showFavoritesOnly = viewModel.getCurrentFilter().isFavoritesOnly();
+
             // If no chips are checked, keep current state (don't change anything)
             if (checkedIds.isEmpty()) {
                 // Restore the previously selected chip
@@ -238,33 +353,20 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
 
             // Only update if state actually changed
             if (newShowFavoritesOnly != showFavoritesOnly) {
-                showFavoritesOnly = newShowFavoritesOnly;
-
-                // Reset observation flag when switching data source
-                isLiveDataObserved = false;
-
-                // Hide category filters when Favorites is selected
-                View categoryScrollView = findViewById(R.id.category_scroll_view);
-                if (categoryScrollView != null) {
-                    if (showFavoritesOnly) {
-                        categoryScrollView.setVisibility(View.GONE);
-                    } else {
-                        categoryScrollView.setVisibility(View.VISIBLE);
-                    }
-                }
-
-                applyFilters();
+                viewModel.setFavoritesOnly(newShowFavoritesOnly);
             }
         });
 
         // Setup Sort filter
         sortChipGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            String sortOrder = viewModel.getCurrentFilter().getSortOrder();
+
             // If no chips are checked, keep current state
             if (checkedIds.isEmpty()) {
                 // Restore the previously selected chip based on sortOrder
-                if ("oldest".equals(sortOrder)) {
+                if (PostFilter.SORT_OLDEST.equals(sortOrder)) {
                     sortChipGroup.check(R.id.chip_sort_oldest);
-                } else if ("title".equals(sortOrder)) {
+                } else if (PostFilter.SORT_TITLE.equals(sortOrder)) {
                     sortChipGroup.check(R.id.chip_sort_title);
                 } else {
                     sortChipGroup.check(R.id.chip_sort_newest);
@@ -273,22 +375,20 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
             }
 
             int checkedId = checkedIds.get(0);
-            String newSortOrder = "newest";
+            String newSortOrder = PostFilter.SORT_NEWEST;
             if (checkedId == R.id.chip_sort_oldest) {
-                newSortOrder = "oldest";
+                newSortOrder = PostFilter.SORT_OLDEST;
             } else if (checkedId == R.id.chip_sort_title) {
-                newSortOrder = "title";
+                newSortOrder = PostFilter.SORT_TITLE;
             }
 
             // Only update if sort order actually changed
             if (!newSortOrder.equals(sortOrder)) {
-                sortOrder = newSortOrder;
-                applyFilters();
+                viewModel.setSortOrder(newSortOrder);
             }
         });
 
-        // Load and setup category filters
-        loadCategories();
+        // Category chips are added after the first frame (onFirstFrameDrawn)
     }
 
     private void loadCategories() {
@@ -305,6 +405,9 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                     Chip chip = createCategoryChip(category, false);
                     categoryChipGroup.addView(chip);
                 }
+
+                // New chips start unchecked - show the current selection
+                restoreCategoryChipStates();
             }
         });
     }
@@ -322,68 +425,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
         // Set colors based on checked state
         updateChipColors(chip, isChecked);
 
-        chip.setOnCheckedChangeListener((buttonView, isCheckedNow) -> {
-            // Prevent recursive calls
-            if (!buttonView.isPressed()) return;
-
-            // Update chip colors when state changes
-            updateChipColors(chip, isCheckedNow);
-
-            // Use safe equals to avoid NPE
-            boolean isAll = "All".equals(category);
-
-            if (isAll) {
-                // "All" chip behavior: clear all selections and reset to all
-                if (isCheckedNow) {
-                    // Uncheck all other chips
-                    for (int i = 0; i < categoryChipGroup.getChildCount(); i++) {
-                        View child = categoryChipGroup.getChildAt(i);
-                        if (child instanceof Chip) {
-                            Chip otherChip = (Chip) child;
-                            if (otherChip != chip && otherChip.isChecked()) {
-                                otherChip.setChecked(false);
-                                // Manually update colors for programmatically unchecked chips
-                                updateChipColors(otherChip, false);
-                            }
-                        }
-                    }
-                    selectedCategories.clear();
-                } else {
-                    // "All" cannot be unchecked manually - keep it checked if nothing else is selected
-                    if (selectedCategories.isEmpty()) {
-                        chip.setChecked(true);
-                        // Manually update colors
-                        updateChipColors(chip, true);
-                    }
-                }
-            } else {
-                // Regular category chip behavior
-                if (isCheckedNow) {
-                    // Uncheck "All" when selecting a specific category - use stored reference
-                    if (categoryAllChip != null && categoryAllChip.isChecked()) {
-                        categoryAllChip.setChecked(false);
-                        // Manually update colors since programmatic setChecked might not trigger listener
-                        updateChipColors(categoryAllChip, false);
-                    }
-                    // Add to selected categories
-                    selectedCategories.add(category);
-                } else {
-                    // Remove from selected categories
-                    selectedCategories.remove(category);
-
-                    // If no categories selected, check "All"
-                    if (selectedCategories.isEmpty()) {
-                        if (categoryAllChip != null) {
-                            categoryAllChip.setChecked(true);
-                            // Manually update colors
-                            updateChipColors(categoryAllChip, true);
-                        }
-                    }
-                }
-            }
-
-            applyFilters();
-        });
+        setCategoryChipListener(chip, category);
 
         return chip;
     }
@@ -404,7 +446,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
     }
 
     /**
-     * Restore category chip visual states based on selectedCategories
+     * Restore category chip visual states based on the selected categories
      * Called when returning from Detail screen to ensure chips show correct colors
      * Temporarily removes listener to avoid triggering logic that checks isPressed()
      */
@@ -414,6 +456,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
             return;
         }
 
+        Set<String> selectedCategories = viewModel.getCurrentFilter().getCategories();
         int chipCount = categoryChipGroup.getChildCount();
         android.util.Log.d("MainActivity", "restoreCategoryChipStates: chipCount=" + chipCount + ", selectedCategories=" + selectedCategories);
 
@@ -439,7 +482,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                         chip.setChecked(shouldBeChecked);
                         updateChipColors(chip, shouldBeChecked);
                         // Restore listener
-                        restoreChipListener(chip, chipText, shouldBeChecked);
+                        setCategoryChipListener(chip, chipText);
                         android.util.Log.d("MainActivity", "Chip 'All' updated to " + shouldBeChecked);
                     }
                 } else {
@@ -452,7 +495,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                         chip.setChecked(shouldBeChecked);
                         updateChipColors(chip, shouldBeChecked);
                         // Restore listener
-                        restoreChipListener(chip, chipText, shouldBeChecked);
+                        setCategoryChipListener(chip, chipText);
                         android.util.Log.d("MainActivity", "Chip '" + chipText + "' updated to " + shouldBeChecked);
                     }
                 }
@@ -461,10 +504,10 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
     }
 
     /**
-     * Restore the OnCheckedChangeListener for a category chip
-     * This is the same listener logic from createCategoryChip()
+     * Listener of a category chip, used when creating and when restoring chips
+     * Selection changes go to the ViewModel, which refilters the list
      */
-    private void restoreChipListener(Chip chip, String category, boolean currentCheckedState) {
+    private void setCategoryChipListener(Chip chip, String category) {
         chip.setOnCheckedChangeListener((buttonView, isCheckedNow) -> {
             // Prevent recursive calls
             if (!buttonView.isPressed()) return;
@@ -490,10 +533,10 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                             }
                         }
                     }
-                    selectedCategories.clear();
+                    viewModel.clearCategories();
                 } else {
                     // "All" cannot be unchecked manually - keep it checked if nothing else is selected
-                    if (selectedCategories.isEmpty()) {
+                    if (viewModel.getCurrentFilter().getCategories().isEmpty()) {
                         chip.setChecked(true);
                         // Manually update colors
                         updateChipColors(chip, true);
@@ -509,13 +552,13 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                         updateChipColors(categoryAllChip, false);
                     }
                     // Add to selected categories
-                    selectedCategories.add(category);
+                    viewModel.setCategorySelected(category, true);
                 } else {
                     // Remove from selected categories
-                    selectedCategories.remove(category);
+                    viewModel.setCategorySelected(category, false);
 
                     // If no categories selected, check "All"
-                    if (selectedCategories.isEmpty()) {
+                    if (viewModel.getCurrentFilter().getCategories().isEmpty()) {
                         if (categoryAllChip != null) {
                             categoryAllChip.setChecked(true);
                             // Manually update colors
@@ -524,17 +567,14 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                     }
                 }
             }
-
-            applyFilters();
         });
     }
 
     private void loadData() {
-        // Check network status first
-        boolean hasNetwork = NetworkUtils.isNetworkAvailable(this);
-
-        // Check if database is empty
+        // Check if database is empty, then network status (both off the main thread)
+        Context appContext = getApplicationContext();
         viewModel.isDatabaseEmpty(isEmpty -> {
+            boolean hasNetwork = NetworkUtils.isNetworkAvailable(appContext);
             runOnUiThread(() -> {
                 if (isEmpty) {
                     // Database is empty - need to fetch from API
@@ -551,25 +591,9 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                         );
                     }
                 } else {
-                    // Database has data
-                    if (hasNetwork) {
-                        // Has network - load from cache first, then refresh in background
-                        applyFilters();
-                        // Silently refresh data in background
-                        viewModel.fetchPostsFromApi(new PostRepository.FetchCallback() {
-                            @Override
-                            public void onSuccess() {
-                                // Data refreshed silently
-                            }
-
-                            @Override
-                            public void onError(String message) {
-                                // Ignore error - we already have cached data
-                            }
-                        });
-                    } else {
-                        // No network - load from cache with warning
-                        applyFilters();
+                    // Database has data - show it; CatalogSyncWorker keeps it fresh in the background
+                    showPosts();
+                    if (!hasNetwork) {
                         Toast.makeText(MainActivity.this,
                                 "Offline mode: Showing cached data", Toast.LENGTH_SHORT).show();
                     }
@@ -584,7 +608,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
             public void onSuccess() {
                 runOnUiThread(() -> {
                     hideLoading();
-                    applyFilters();
+                    showPosts();
                     Toast.makeText(MainActivity.this,
                             "Data loaded successfully", Toast.LENGTH_SHORT).show();
                 });
@@ -612,7 +636,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
                                 );
                             } else {
                                 // Has cached data - show it with warning
-                                applyFilters();
+                                showPosts();
                                 Toast.makeText(MainActivity.this,
                                         "Network error. Showing cached data", Toast.LENGTH_SHORT).show();
                             }
@@ -632,7 +656,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
             return;
         }
 
-        viewModel.fetchPostsFromApi(new PostRepository.FetchCallback() {
+        viewModel.refreshPostsFromApi(new PostRepository.FetchCallback() {
             @Override
             public void onSuccess() {
                 runOnUiThread(() -> {
@@ -653,119 +677,97 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
         });
     }
 
-    private void applyFilters() {
-        androidx.lifecycle.LiveData<List<Post>> postsLiveData;
-
-        // Choose the base data source
-        if (showFavoritesOnly) {
-            postsLiveData = viewModel.getFavoritePosts();
-        } else {
-            postsLiveData = viewModel.getAllPosts();
-        }
-
-        // Check if we need to switch LiveData source
-        boolean needToSwitchSource = (activePostsLiveData != postsLiveData);
-
-        if (needToSwitchSource) {
-            // Remove observers from previously observed LiveData (if any)
-            if (activePostsLiveData != null) {
-                activePostsLiveData.removeObservers(this);
+    /**
+     * Follow the filter state kept by the ViewModel
+     * Browse mode (no search, no category, not favorites-only) is paged straight from
+     * the database; any other filter shows the ViewModel's filtered list once its
+     * background run has finished
+     */
+    private void observeFilterPipeline() {
+        viewModel.getFilter().observe(this, filter -> {
+            updateSearchStatus(filter);
+            updateCategoryVisibility(filter);
+            if (filter.isBrowseMode()) {
+                showPagedPosts(filter.getSortOrder());
             }
+        });
+        viewModel.getFilteredPosts().observe(this, this::displayFilteredPosts);
+    }
 
-            // Track the currently active LiveData
-            activePostsLiveData = postsLiveData;
-            isLiveDataObserved = false;
-        }
-
-        // Only observe if not already observed
-        if (!isLiveDataObserved) {
-            isLiveDataObserved = true;
-
-            // Observe and cache posts
-            postsLiveData.observe(this, posts -> {
-                if (posts != null) {
-                    // Update cache
-                    allPostsCache = new ArrayList<>(posts);
-                    // Apply filters with new data
-                    filterAndDisplayPosts();
-                }
-            });
+    // Show the list of the current filter again (e.g. after the loading or error view)
+    private void showPosts() {
+        PostFilter filter = viewModel.getCurrentFilter();
+        if (filter.isBrowseMode()) {
+            showPagedPosts(filter.getSortOrder());
         } else {
-            // Already observing, just apply filters to cached data
-            filterAndDisplayPosts();
+            displayFilteredPosts(viewModel.getFilteredPosts().getValue());
         }
     }
 
     /**
-     * Filter cached posts based on current state and update UI
-     * This method does NOT re-observe LiveData, preserving selection state
+     * Show the paged list for the given sort order
+     * The filtered list is dropped so the catalog is not held in memory
      */
-    private void filterAndDisplayPosts() {
-        if (allPostsCache.isEmpty()) {
-            showError("No data", "No books available", false);
-            return;
+    private void showPagedPosts(String sortOrder) {
+        if (recyclerView.getAdapter() != pagedAdapter) {
+            adapter.setPosts(new ArrayList<>());
+            recyclerView.setAdapter(pagedAdapter);
         }
 
-        List<Post> filteredPosts = new ArrayList<>(allPostsCache);
-
-        // Apply category filter (client-side for multiple categories)
-        if (!selectedCategories.isEmpty()) {
-            filteredPosts = filteredPosts.stream()
-                    .filter(post -> selectedCategories.contains(post.getCategory()))
-                    .collect(Collectors.toList());
+        LiveData<PagingData<Post>> pagedPosts = viewModel.getPagedPosts(sortOrder);
+        if (activePagedLiveData != pagedPosts) {
+            if (activePagedLiveData != null) {
+                activePagedLiveData.removeObservers(this);
+            }
+            activePagedLiveData = pagedPosts;
+            remoteRequestedAtCount = -1;
+            pagedPosts.observe(this, pagingData ->
+                    pagedAdapter.submitData(getLifecycle(), pagingData));
         }
+    }
 
-        // Apply search filter (filter by book title - null-safe, case-insensitive, with word matching)
-        if (!currentSearchQuery.isEmpty()) {
-            String query = currentSearchQuery.toLowerCase();
-            filteredPosts = filteredPosts.stream()
-                    .filter(post -> {
-                        String title = post.getTitle() != null ? post.getTitle().toLowerCase() : "";
-                        // Match if query is contained in title
-                        return title.contains(query);
-                    })
-                    .collect(Collectors.toList());
+    /**
+     * Display a finished filter result from the ViewModel
+     * Ignored in browse mode (e.g. the result kept from before a rotation)
+     */
+    private void displayFilteredPosts(PostViewModel.FilterResult result) {
+        if (result == null || viewModel.getCurrentFilter().isBrowseMode()) return;
+        long emittedAt = System.nanoTime();
+
+        // Leaving browse mode - stop paging
+        if (activePagedLiveData != null) {
+            activePagedLiveData.removeObservers(this);
+            activePagedLiveData = null;
         }
-
-        // Apply sort order
-        switch (sortOrder) {
-            case "oldest":
-                // Sort by ID ascending (oldest first)
-                filteredPosts.sort((p1, p2) -> Integer.compare(p1.getId(), p2.getId()));
-                break;
-            case "title":
-                // Sort by title A-Z
-                filteredPosts.sort((p1, p2) -> {
-                    String title1 = p1.getTitle() != null ? p1.getTitle() : "";
-                    String title2 = p2.getTitle() != null ? p2.getTitle() : "";
-                    return title1.compareToIgnoreCase(title2);
-                });
-                break;
-            case "newest":
-            default:
-                // Sort by ID descending (newest first)
-                filteredPosts.sort((p1, p2) -> Integer.compare(p2.getId(), p1.getId()));
-                break;
+        if (recyclerView.getAdapter() != adapter) {
+            recyclerView.setAdapter(adapter);
         }
 
+        List<Post> filteredPosts = result.getPosts();
+        PostFilter filter = result.getFilter();
+        String searchQuery = filter.getSearchQuery();
+
         // Update UI based on results
         if (!filteredPosts.isEmpty()) {
-            adapter.setPosts(filteredPosts);
+            // Measured once the diff is applied and the list draws its next frame
+            adapter.setPosts(filteredPosts,
+                    () -> DrawTimer.recordUntilNextDraw(recyclerView, EMIT_TO_RENDER, emittedAt));
             showContent();
         } else {
+            adapter.setPosts(new ArrayList<>());
             String title = "No results";
             String message;
-            if (showFavoritesOnly) {
-                if (!currentSearchQuery.isEmpty()) {
-                    message = "No favorites found for \"" + currentSearchQuery + "\"";
-                } else if (!selectedCategories.isEmpty()) {
+            if (filter.isFavoritesOnly()) {
+                if (!searchQuery.isEmpty()) {
+                    message = "No favorites found for \"" + searchQuery + "\"";
+                } else if (!filter.getCategories().isEmpty()) {
                     message = "No favorites in selected categories";
                 } else {
                     message = "No favorites yet.\nTap the star on any book to add it to favorites!";
                 }
-            } else if (!currentSearchQuery.isEmpty()) {
-                message = "No books found matching \"" + currentSearchQuery + "\"";
-            } else if (!selectedCategories.isEmpty()) {
+            } else if (!searchQuery.isEmpty()) {
+                message = "No books found matching \"" + searchQuery + "\"";
+            } else if (!filter.getCategories().isEmpty()) {
                 message = "No books found in selected categories";
             } else {
                 message = "No books available";
@@ -776,10 +778,9 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
 
     @Override
     public void onPostClick(Post post) {
-        // Navigate to detail screen
-        Intent intent = new Intent(this, DetailActivity.class);
-        intent.putExtra(DetailActivity.EXTRA_POST_ID, post.getId());
-        startActivity(intent);
+        // Navigate to detail screen; the cached row lets it show without waiting for Room
+        viewModel.cachePost(post);
+        startActivity(DetailActivity.newIntent(this, post.getId()));
     }
 
     private void showLoading() {
@@ -796,6 +797,7 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
         progressBar.setVisibility(View.GONE);
         recyclerView.setVisibility(View.VISIBLE);
         errorContainer.setVisibility(View.GONE);
+        StartupTimer.onContentShown(recyclerView);
     }
 
     private void showError(String networkStatus, String message, boolean showRetryButton) {
@@ -821,10 +823,19 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
         }
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Log and save what was measured while the screen was in use (file I/O, so off the main thread)
+        Context appContext = getApplicationContext();
+        AppExecutors.getInstance().sync().execute(() -> MetricsReporter.dump(appContext));
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
-        android.util.Log.d("MainActivity", "onResume called, selectedCategories=" + selectedCategories);
+        android.util.Log.d("MainActivity", "onResume called, selectedCategories="
+                + viewModel.getCurrentFilter().getCategories());
 
         // Restore category chip visual states when returning from DetailActivity
         // Use postDelayed to ensure UI is fully rendered before restoring
@@ -833,15 +844,4 @@ public class MainActivity extends AppCompatActivity implements PostAdapter.OnPos
             restoreCategoryChipStates();
         }, 100);
     }
-
-    @Override
-    protected void onSaveInstanceState(Bundle outState) {
-        super.onSaveInstanceState(outState);
-        // Save current state to survive activity recreation
-        outState.putStringArrayList("selectedCategories", new ArrayList<>(selectedCategories));
-        outState.putBoolean("showFavoritesOnly", showFavoritesOnly);
-        outState.putString("currentSearchQuery", currentSearchQuery);
-        outState.putString("sortOrder", sortOrder);
-        android.util.Log.d("MainActivity", "Saved state: selectedCategories=" + selectedCategories);
-    }
 }
@@ -0,0 +1,78 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
+import com.example.nguyenduyhung_se184681.R;
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads the covers of the rows about to scroll into view
+ * - looks ahead in the scroll direction, over whichever post adapter the list shows
+ * - uses the exact row request (PostAdapter.coverRequest) at the cover's size,
+ *   so a preloaded cover is a memory cache hit when its row binds
+ * - never preloads more covers than fit in half of Glide's memory cache, so
+ *   preloading does not evict the covers on screen
+ */
+public final class CoverPreloader {
+
+    // Rows to look ahead by default
+    public static final int DEFAULT_PRELOAD_COUNT = 10;
+
+    private CoverPreloader() {
+    }
+
+    /**
+     * Preload covers for the next preloadCount rows while the list scrolls
+     * @return the number of rows actually looked ahead (after the memory cache cap)
+     */
+    public static int attach(RecyclerView recyclerView, int preloadCount) {
+        Context context = recyclerView.getContext();
+        int coverSize = context.getResources().getDimensionPixelSize(R.dimen.item_cover_size);
+        RequestManager glide = Glide.with(recyclerView);
+        int maxPreload = limitToMemoryCache(preloadCount,
+                Glide.get(context).getMemoryCache().getMaxSize(), coverSize);
+
+        ListPreloader.PreloadModelProvider<String> covers = new ListPreloader.PreloadModelProvider<String>() {
+            @NonNull
+            @Override
+            public List<String> getPreloadItems(int position) {
+                RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+                Post post = adapter instanceof PostLookup ? ((PostLookup) adapter).getPost(position) : null;
+                if (post == null || post.getImageUrl() == null) {
+                    return Collections.emptyList();
+                }
+                return Collections.singletonList(post.getImageUrl());
+            }
+
+            @Nullable
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String imageUrl) {
+                return PostAdapter.coverRequest(glide, imageUrl);
+            }
+        };
+
+        recyclerView.addOnScrollListener(new RecyclerViewPreloader<>(glide, covers,
+                new FixedPreloadSizeProvider<>(coverSize, coverSize), maxPreload));
+        return maxPreload;
+    }
+
+    // Cap the look-ahead to half the memory cache (covers decode as RGB_565, 2 bytes per pixel)
+    static int limitToMemoryCache(int preloadCount, long memoryCacheBytes, int coverSizePx) {
+        long bytesPerCover = Math.max(1L, (long) coverSizePx * coverSizePx * 2);
+        long fits = memoryCacheBytes / 2 / bytesPerCover;
+        return (int) Math.max(1, Math.min(preloadCount, fits));
+    }
+}
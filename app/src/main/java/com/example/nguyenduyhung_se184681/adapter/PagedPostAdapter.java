@@ -0,0 +1,63 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+
+import java.util.List;
+
+import com.example.nguyenduyhung_se184681.R;
+import com.example.nguyenduyhung_se184681.model.Post;
+
+/**
+ * Paging-aware adapter for the post list
+ * Only the pages around the visible rows are held in memory; rows are
+ * bound with the same view holder as PostAdapter (and timed into the same "ui.bind")
+ */
+public class PagedPostAdapter extends PagingDataAdapter<Post, PostAdapter.PostViewHolder> implements PostLookup {
+
+    private final PostAdapter.OnPostClickListener listener;
+    public PagedPostAdapter(PostAdapter.OnPostClickListener listener) {
+        super(new PostDiffCallback());
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public PostAdapter.PostViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_post, parent, false);
+        return new PostAdapter.PostViewHolder(view, this, listener);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PostAdapter.PostViewHolder holder, int position) {
+        long start = System.nanoTime();
+        Post post = getItem(position);
+        if (post != null) {
+            holder.bind(post);
+            PostAdapter.BIND_TIME.recordNanosSince(start);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PostAdapter.PostViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        Post post = getItem(position);
+        // Favorite toggle: only the star changes
+        if (post != null && payloads.size() == 1 && payloads.get(0) == PostDiffCallback.PAYLOAD_FAVORITE) {
+            holder.bindFavorite(post.isFavorite());
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    // peek() reads the row without triggering a page load
+    @Override
+    public Post getPost(int position) {
+        return position >= 0 && position < getItemCount() ? peek(position) : null;
+    }
+}
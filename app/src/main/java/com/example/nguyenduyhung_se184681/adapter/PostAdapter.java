@@ -1,6 +1,7 @@
 package com.example.nguyenduyhung_se184681.adapter;
 
-import android.util.Log;
+import android.content.Context;
+import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -8,27 +9,47 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.example.nguyenduyhung_se184681.R;
+import com.example.nguyenduyhung_se184681.image.CoverImage;
+import com.example.nguyenduyhung_se184681.metrics.Histogram;
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
 import com.example.nguyenduyhung_se184681.model.Post;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView Adapter for displaying posts with real images from API
+ * List updates are diffed on a background thread (AsyncListDiffer):
+ * - only moved/changed rows are animated and rebound
+ * - a favorite toggle only updates the star icon (PostDiffCallback.PAYLOAD_FAVORITE)
+ * Binding a row allocates nothing: text comes precomputed from Post, the click
+ * listener is created once per holder, and an unchanged cover is not reloaded
+ * Full binds are timed into "ui.bind" (MetricsRegistry)
  */
-public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder> {
+public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder> implements PostLookup {
 
-    private static final String TAG = "PostAdapter";
-    private List<Post> posts = new ArrayList<>();
+    // Shared with PagedPostAdapter
+    static final Histogram BIND_TIME = MetricsRegistry.getDefault().timer("ui.bind");
+
+    private final AsyncListDiffer<Post> differ = new AsyncListDiffer<>(this, new PostDiffCallback());
     private final OnPostClickListener listener;
+    // Rebind counters, to measure how much work each list update causes
+    private int fullBindCount = 0;
+    private int payloadBindCount = 0;
 
     public PostAdapter(OnPostClickListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -36,83 +57,176 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
     public PostViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_post, parent, false);
-        return new PostViewHolder(view);
+        return new PostViewHolder(view, this, listener);
     }
 
     @Override
     public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
-        Post post = posts.get(position);
-        holder.bind(post, listener);
+        long start = System.nanoTime();
+        Post post = differ.getCurrentList().get(position);
+        holder.bind(post);
+        fullBindCount++;
+        BIND_TIME.recordNanosSince(start);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PostViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !onlyFavoritePayloads(payloads)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.bindFavorite(differ.getCurrentList().get(position).isFavorite());
+        payloadBindCount++;
+    }
+
+    private static boolean onlyFavoritePayloads(List<Object> payloads) {
+        for (int i = 0; i < payloads.size(); i++) {
+            if (payloads.get(i) != PostDiffCallback.PAYLOAD_FAVORITE) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int getItemCount() {
-        return posts.size();
+        return differ.getCurrentList().size();
+    }
+
+    // Stable row ID derived from the volume ID (64-bit FNV-1a)
+    @Override
+    public long getItemId(int position) {
+        return stableIdOf(differ.getCurrentList().get(position).getId());
     }
 
+    static long stableIdOf(String postId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < postId.length(); i++) {
+            hash ^= postId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Diff against the current list in the background, then dispatch minimal updates
     public void setPosts(List<Post> posts) {
-        this.posts = posts;
-        notifyDataSetChanged();
+        setPosts(posts, null);
+    }
+
+    // Same, running onCommitted once the updates are dispatched (may be null)
+    public void setPosts(List<Post> posts, Runnable onCommitted) {
+        // The differ ignores a list instance it has already seen, so always hand over a copy
+        differ.submitList(posts != null ? new ArrayList<>(posts) : null, onCommitted);
+    }
+
+    public List<Post> getPosts() {
+        return differ.getCurrentList();
+    }
+
+    @Override
+    public Post getPost(int position) {
+        List<Post> posts = differ.getCurrentList();
+        return position >= 0 && position < posts.size() ? posts.get(position) : null;
+    }
+
+    public int getFullBindCount() {
+        return fullBindCount;
     }
 
+    public int getPayloadBindCount() {
+        return payloadBindCount;
+    }
+
+    public void resetBindCounts() {
+        fullBindCount = 0;
+        payloadBindCount = 0;
+    }
+
+    // Shared with PagedPostAdapter
     static class PostViewHolder extends RecyclerView.ViewHolder {
         private final ImageView imageView;
         private final TextView titleTextView;
         private final TextView bodyTextView;
         private final TextView categoryTextView;
         private final ImageView favoriteIcon;
+        // Cover currently requested for this row; rebinding the same URL skips Glide
+        private String boundImageUrl;
+        private boolean coverBound;
 
-        public PostViewHolder(@NonNull View itemView) {
+        public PostViewHolder(@NonNull View itemView, PostLookup postLookup, OnPostClickListener listener) {
             super(itemView);
             imageView = itemView.findViewById(R.id.item_image);
             titleTextView = itemView.findViewById(R.id.item_title);
             bodyTextView = itemView.findViewById(R.id.item_body);
             categoryTextView = itemView.findViewById(R.id.item_category);
             favoriteIcon = itemView.findViewById(R.id.item_favorite_icon);
-        }
 
-        public void bind(Post post, OnPostClickListener listener) {
-            // Set title (capitalize first letter)
-            String title = post.getTitle();
-            if (!title.isEmpty()) {
-                title = title.substring(0, 1).toUpperCase() + title.substring(1);
-            }
-            titleTextView.setText(title);
+            // Set once; the row is looked up when clicked, not captured at bind time
+            itemView.setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                if (listener == null || position == RecyclerView.NO_POSITION) return;
+                Post post = postLookup.getPost(position);
+                if (post != null) {
+                    listener.onPostClick(post);
+                }
+            });
+        }
 
-            // Set body (truncate if too long)
-            String body = post.getBody();
-            if (body.length() > 100) {
-                body = body.substring(0, 100) + "...";
-            }
-            bodyTextView.setText(body);
+        public void bind(Post post) {
+            bindContent(post);
+            bindCover(post.getImageUrl());
+        }
 
-            // Set category
+        // Title, snippet, category and star; display text is precomputed in Post
+        public void bindContent(Post post) {
+            titleTextView.setText(post.getDisplayTitle());
+            bodyTextView.setText(post.getSnippet());
             categoryTextView.setText(post.getCategory());
+            bindFavorite(post.isFavorite());
+        }
 
-            // Set favorite icon visibility
-            favoriteIcon.setVisibility(post.isFavorite() ? View.VISIBLE : View.GONE);
-
-            // Load REAL image from URL using Glide
-            String imageUrl = post.getImageUrl();
-            Log.d(TAG, "Loading image for post " + post.getId() + ": " + imageUrl);
+        // Load the REAL image using Glide, unless this row already shows it
+        public void bindCover(String imageUrl) {
+            if (coverBound && Objects.equals(imageUrl, boundImageUrl)) return;
+            boundImageUrl = imageUrl;
+            coverBound = true;
 
-            Glide.with(itemView.getContext())
-                    .load(imageUrl)
-                    .diskCacheStrategy(DiskCacheStrategy.ALL)
-                    .placeholder(R.drawable.ic_placeholder)
-                    .error(R.drawable.ic_placeholder)
-                    .centerCrop()
-                    .into(imageView);
+            coverRequest(Glide.with(itemView.getContext()), imageUrl).into(imageView);
+        }
 
-            // Set click listener
-            itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onPostClick(post);
-                }
-            });
+        // Partial bind used when only the favorite flag changed
+        public void bindFavorite(boolean isFavorite) {
+            favoriteIcon.setVisibility(isFavorite ? View.VISIBLE : View.GONE);
         }
     }
 
+    /**
+     * Glide request for a row cover; CoverPreloader uses the same one so
+     * preloaded covers are memory cache hits when the row binds
+     * CoverImage fetches the smallest variant that fills the cover, decoded at that size
+     */
+    static RequestBuilder<Drawable> coverRequest(RequestManager glide, String imageUrl) {
+        return glide.load(new CoverImage(imageUrl))
+                .format(DecodeFormat.PREFER_RGB_565) // covers are opaque, half the memory of ARGB
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .placeholder(R.drawable.ic_placeholder)
+                .error(R.drawable.ic_placeholder)
+                .centerCrop();
+    }
+
+    /**
+     * A row cover from Glide's caches only - same request and size as the row, so
+     * it is a memory cache hit for any cover the list has shown
+     * Used as the first frame of a larger cover (see DetailActivity)
+     */
+    public static RequestBuilder<Drawable> cachedCoverRequest(RequestManager glide, Context context,
+                                                              String imageUrl) {
+        int coverSize = context.getResources().getDimensionPixelSize(R.dimen.item_cover_size);
+        return coverRequest(glide, imageUrl)
+                .override(coverSize, coverSize)
+                .onlyRetrieveFromCache(true);
+    }
+
     public interface OnPostClickListener {
         void onPostClick(Post post);
     }
@@ -0,0 +1,45 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import java.util.Objects;
+
+/**
+ * Decides whether two posts are the same row (volume ID) and whether it needs rebinding
+ * A change of the favorite flag alone is reported as PAYLOAD_FAVORITE so only the star is updated
+ */
+public class PostDiffCallback extends DiffUtil.ItemCallback<Post> {
+
+    public static final Object PAYLOAD_FAVORITE = new Object();
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Post oldItem, @NonNull Post newItem) {
+        return oldItem.getId().equals(newItem.getId());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Post oldItem, @NonNull Post newItem) {
+        return oldItem.isFavorite() == newItem.isFavorite() && isSameContent(oldItem, newItem);
+    }
+
+    @Override
+    public Object getChangePayload(@NonNull Post oldItem, @NonNull Post newItem) {
+        if (oldItem.isFavorite() != newItem.isFavorite() && isSameContent(oldItem, newItem)) {
+            return PAYLOAD_FAVORITE;
+        }
+        // Anything else needs a full rebind
+        return null;
+    }
+
+    // Everything shown in the row except the favorite star
+    private static boolean isSameContent(Post oldItem, Post newItem) {
+        return Objects.equals(oldItem.getContentHash(), newItem.getContentHash())
+                && Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                && Objects.equals(oldItem.getBody(), newItem.getBody())
+                && Objects.equals(oldItem.getCategory(), newItem.getCategory())
+                && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl());
+    }
+}
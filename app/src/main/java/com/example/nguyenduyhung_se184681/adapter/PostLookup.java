@@ -0,0 +1,11 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+/**
+ * Post currently shown at an adapter position (null if not loaded)
+ * Implemented by both post adapters; used for row clicks and cover preloading
+ */
+interface PostLookup {
+    Post getPost(int position);
+}
@@ -0,0 +1,23 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * The one Gson instance used for API JSON
+ * Google Books models are read by GoogleBooksTypeAdapters instead of reflection;
+ * Gson caches adapters per instance, so sharing it keeps that work to once per process
+ */
+public final class ApiGson {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(GoogleBooksTypeAdapters.FACTORY)
+            .create();
+
+    private ApiGson() {
+    }
+
+    public static Gson get() {
+        return GSON;
+    }
+}
@@ -26,5 +26,14 @@ public interface ApiService {
             @Query("q") String query,
             @Query("maxResults") int maxResults
     );
+
+    // Same search, streamed straight into posts (see StreamingBooksConverterFactory)
+    // startIndex is the zero-based index of the first result (remote paging)
+    @GET("volumes")
+    Call<BookPage> searchBookPosts(
+            @Query("q") String query,
+            @Query("startIndex") int startIndex,
+            @Query("maxResults") int maxResults
+    );
 }
 
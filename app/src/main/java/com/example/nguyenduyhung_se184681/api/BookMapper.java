@@ -0,0 +1,93 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import java.util.List;
+
+/**
+ * Maps Google Books volume fields to the Post model
+ * Plain Java (no Android classes) so it can run in JVM tests and benchmarks
+ */
+public final class BookMapper {
+
+    public static final int MAX_BODY_LENGTH = 500;
+    private static final String DEFAULT_CATEGORY = "Technology";
+
+    private BookMapper() {
+    }
+
+    /**
+     * Build a post from the volume fields we store
+     * @return null if the volume has no ID or title
+     */
+    public static Post toPost(String volumeId, String title, String description,
+                              List<String> authors, String firstCategory, String thumbnailUrl) {
+        if (volumeId == null || title == null) {
+            return null;
+        }
+
+        Post post = new Post();
+        post.setId(volumeId);
+        post.setTitle(title);
+        post.setBody(buildBody(title, description, authors));
+        post.setCategory(mapCategory(firstCategory));
+        post.setImageUrl(buildImageUrl(volumeId, thumbnailUrl));
+        post.setFavorite(false);
+        return post;
+    }
+
+    /**
+     * Set the arrival order of a post and the fields derived from it
+     * Must be called once the merged catalog order is known
+     */
+    public static void assignPosition(Post post, int position) {
+        post.setPosition(position);
+        // Set userId (for legacy purposes)
+        post.setUserId((position % 5) + 1);
+        post.setContentHash(post.computeContentHash());
+    }
+
+    // Description, or a short generated one; capped at MAX_BODY_LENGTH
+    public static String buildBody(String title, String description, List<String> authors) {
+        String body = description;
+        if (body == null || body.isEmpty()) {
+            body = "A book about " + title;
+            if (authors != null && !authors.isEmpty()) {
+                body += " by " + String.join(", ", authors);
+            }
+        }
+        return truncateBody(body);
+    }
+
+    public static String truncateBody(String body) {
+        if (body.length() > MAX_BODY_LENGTH) {
+            return body.substring(0, MAX_BODY_LENGTH - 3) + "...";
+        }
+        return body;
+    }
+
+    // Simplify Google Books category names
+    public static String mapCategory(String category) {
+        if (category == null || category.isEmpty()) {
+            return DEFAULT_CATEGORY;
+        }
+        if (category.contains("Programming") || category.contains("Computers")) {
+            return "Programming";
+        } else if (category.contains("Technology")) {
+            return "Technology";
+        } else if (category.contains("Business")) {
+            return "Business";
+        } else if (category.contains("Education")) {
+            return "Education";
+        }
+        return category;
+    }
+
+    // Thumbnail over HTTPS, or a placeholder picture seeded by the volume ID
+    public static String buildImageUrl(String volumeId, String thumbnailUrl) {
+        if (thumbnailUrl == null || thumbnailUrl.isEmpty()) {
+            return "https://picsum.photos/400/600?random=" + volumeId;
+        }
+        return thumbnailUrl.replace("http://", "https://");
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import java.util.List;
+
+/**
+ * One page of Google Books search results, already converted to posts
+ * Produced by BookStreamParser without building the GoogleBooksResponse tree
+ */
+public class BookPage {
+
+    private final int totalItems;
+    private final List<Post> posts;
+
+    public BookPage(int totalItems, List<Post> posts) {
+        this.totalItems = totalItems;
+        this.posts = posts;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull parser for the Google Books "volumes" response
+ * Each item is turned into a Post as soon as it has been read, so only one
+ * volume's fields are alive at a time. Fields we never store (saleInfo,
+ * accessInfo, industryIdentifiers, ...) are skipped without being built.
+ * Plain Java (no Android classes) so it can run in JVM tests and benchmarks
+ */
+public final class BookStreamParser {
+
+    private BookStreamParser() {
+    }
+
+    public static BookPage parse(JsonReader reader) throws IOException {
+        int totalItems = 0;
+        List<Post> posts = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "totalItems":
+                    totalItems = reader.nextInt();
+                    break;
+                case "items":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Post post = readItem(reader);
+                        if (post != null) {
+                            posts.add(post);
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        return new BookPage(totalItems, posts);
+    }
+
+    private static Post readItem(JsonReader reader) throws IOException {
+        String volumeId = null;
+        String title = null;
+        String description = null;
+        List<String> authors = null;
+        String firstCategory = null;
+        String thumbnail = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("id".equals(name)) {
+                volumeId = nextStringOrNull(reader);
+            } else if ("volumeInfo".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "title":
+                            title = nextStringOrNull(reader);
+                            break;
+                        case "description":
+                            description = nextStringOrNull(reader);
+                            // Drop the long original right away, only the capped body is kept
+                            if (description != null) {
+                                description = BookMapper.truncateBody(description);
+                            }
+                            break;
+                        case "authors":
+                            authors = readStrings(reader);
+                            break;
+                        case "categories":
+                            firstCategory = readFirstString(reader);
+                            break;
+                        case "imageLinks":
+                            thumbnail = readThumbnail(reader);
+                            break;
+                        default:
+                            reader.skipValue();
+                            break;
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return BookMapper.toPost(volumeId, title, description, authors, firstCategory, thumbnail);
+    }
+
+    private static String readThumbnail(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String thumbnail = null;
+        String smallThumbnail = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("thumbnail".equals(name)) {
+                thumbnail = nextStringOrNull(reader);
+            } else if ("smallThumbnail".equals(name)) {
+                smallThumbnail = nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        // Either one works: CoverVariants derives the other sizes from the URL
+        return thumbnail != null ? thumbnail : smallThumbnail;
+    }
+
+    private static List<String> readStrings(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        List<String> values = new ArrayList<>(2);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String value = nextStringOrNull(reader);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        reader.endArray();
+        return values;
+    }
+
+    // Only the first category is used, the rest are skipped unread
+    private static String readFirstString(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        String first = null;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (first == null) {
+                first = nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        return first;
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Network interceptor that makes Google Books responses cacheable
+ * The API answers with "max-age=0, must-revalidate", which would stop OkHttp
+ * from ever serving the body offline. We keep the ETag / Last-Modified
+ * validators and replace Cache-Control, so:
+ * - online requests are still revalidated with a conditional request
+ * - offline requests can be answered from disk
+ * Also counts conditional requests, 304 answers and body bytes read from the
+ * network for HttpCacheStats.
+ */
+class CacheRevalidationInterceptor implements Interceptor {
+
+    private final HttpCacheConfig config;
+    private final HttpCacheStats stats;
+
+    CacheRevalidationInterceptor(HttpCacheConfig config, HttpCacheStats stats) {
+        this.config = config;
+        this.stats = stats;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        boolean conditional = request.header("If-None-Match") != null
+                || request.header("If-Modified-Since") != null;
+
+        Response response = chain.proceed(request);
+
+        if (conditional) {
+            stats.recordRevalidation(response.code() == 304);
+        }
+        if (response.isSuccessful() && response.body() != null) {
+            response = countDownloadedBytes(response);
+        }
+
+        if (!"GET".equals(request.method())
+                || !(response.isSuccessful() || response.code() == 304)) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + config.getMaxAgeSeconds())
+                .build();
+    }
+
+    // Counts body bytes as they are read: contentLength() is -1 for chunked
+    // responses, and a body that is never read was never fully downloaded
+    private Response countDownloadedBytes(Response response) {
+        ResponseBody body = response.body();
+        BufferedSource counted = Okio.buffer(new ForwardingSource(body.source()) {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                stats.recordBytesDownloaded(read);
+                return read;
+            }
+        });
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), counted))
+                .build();
+    }
+}
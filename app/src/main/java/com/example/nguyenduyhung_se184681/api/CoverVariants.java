@@ -0,0 +1,79 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the smallest cover image that still covers a view of a given size
+ * - Google Books covers come in zoom levels of the same URL; smallThumbnail is
+ *   zoom=5 and thumbnail is zoom=1, larger levels are available on request
+ * - placeholder pictures (picsum.photos) are requested at exactly the needed size
+ * - any other URL is returned unchanged
+ * Plain Java (no Android classes) so it can run in JVM tests and benchmarks
+ */
+public final class CoverVariants {
+
+    // Book covers are roughly 2:3 (width:height)
+    static final double COVER_ASPECT = 1.5;
+
+    // Google Books zoom levels, smallest first, with their nominal width in pixels
+    private static final int[] ZOOM_LEVELS = {5, 1, 2, 3};
+    private static final int[] ZOOM_WIDTHS = {80, 128, 300, 575};
+
+    private static final Pattern ZOOM_PARAM = Pattern.compile("([?&])zoom=\\d+");
+    private static final Pattern PICSUM_SIZE = Pattern.compile("^(https?://picsum\\.photos)/\\d+/\\d+");
+
+    private CoverVariants() {
+    }
+
+    /**
+     * URL of the smallest variant whose pixels cover widthPx x heightPx
+     * A size of 0 or less (unknown / original) leaves the URL as stored
+     */
+    public static String select(String imageUrl, int widthPx, int heightPx) {
+        if (imageUrl == null || widthPx <= 0 || heightPx <= 0) {
+            return imageUrl;
+        }
+        int neededWidth = requiredWidth(widthPx, heightPx);
+
+        if (isGoogleBooksCover(imageUrl)) {
+            return withZoom(imageUrl, zoomFor(neededWidth));
+        }
+
+        Matcher picsum = PICSUM_SIZE.matcher(imageUrl);
+        if (picsum.find()) {
+            int neededHeight = (int) Math.ceil(neededWidth * COVER_ASPECT);
+            return picsum.group(1) + "/" + neededWidth + "/" + neededHeight
+                    + imageUrl.substring(picsum.end());
+        }
+        return imageUrl;
+    }
+
+    // A cover scaled to fill the view must be at least this wide
+    static int requiredWidth(int widthPx, int heightPx) {
+        return Math.max(widthPx, (int) Math.ceil(heightPx / COVER_ASPECT));
+    }
+
+    // Smallest zoom level at least neededWidth wide, else the largest one
+    static int zoomFor(int neededWidth) {
+        for (int i = 0; i < ZOOM_LEVELS.length; i++) {
+            if (ZOOM_WIDTHS[i] >= neededWidth) {
+                return ZOOM_LEVELS[i];
+            }
+        }
+        return ZOOM_LEVELS[ZOOM_LEVELS.length - 1];
+    }
+
+    static boolean isGoogleBooksCover(String imageUrl) {
+        return imageUrl.contains("books.google.") && imageUrl.contains("/books/content");
+    }
+
+    static String withZoom(String imageUrl, int zoom) {
+        Matcher matcher = ZOOM_PARAM.matcher(imageUrl);
+        if (matcher.find()) {
+            return imageUrl.substring(0, matcher.start()) + matcher.group(1) + "zoom=" + zoom
+                    + imageUrl.substring(matcher.end());
+        }
+        return imageUrl + (imageUrl.indexOf('?') >= 0 ? "&" : "?") + "zoom=" + zoom;
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.model.GoogleBooksResponse;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written Gson adapters for the Google Books response models
+ * (GoogleBooksResponse, BookItem, VolumeInfo, ImageLinks)
+ * - no reflection: nothing to inspect on first use, no field lookups per value
+ * - fields we don't model (saleInfo, accessInfo, industryIdentifiers, ...) are
+ *   skipped with skipValue(), without building strings or trees for them
+ * - JSON names match the @SerializedName annotations on the models
+ * Registered on the shared Gson (ApiGson); plain Java so it can run in JVM tests and benchmarks
+ */
+public final class GoogleBooksTypeAdapters {
+
+    static final TypeAdapter<GoogleBooksResponse.ImageLinks> IMAGE_LINKS = new ImageLinksAdapter().nullSafe();
+    static final TypeAdapter<GoogleBooksResponse.VolumeInfo> VOLUME_INFO = new VolumeInfoAdapter().nullSafe();
+    static final TypeAdapter<GoogleBooksResponse.BookItem> BOOK_ITEM = new BookItemAdapter().nullSafe();
+    static final TypeAdapter<GoogleBooksResponse> RESPONSE = new ResponseAdapter().nullSafe();
+
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> rawType = type.getRawType();
+            if (rawType == GoogleBooksResponse.class) {
+                return (TypeAdapter<T>) RESPONSE;
+            } else if (rawType == GoogleBooksResponse.BookItem.class) {
+                return (TypeAdapter<T>) BOOK_ITEM;
+            } else if (rawType == GoogleBooksResponse.VolumeInfo.class) {
+                return (TypeAdapter<T>) VOLUME_INFO;
+            } else if (rawType == GoogleBooksResponse.ImageLinks.class) {
+                return (TypeAdapter<T>) IMAGE_LINKS;
+            }
+            return null;
+        }
+    };
+
+    private GoogleBooksTypeAdapters() {
+    }
+
+    private static final class ResponseAdapter extends TypeAdapter<GoogleBooksResponse> {
+        @Override
+        public GoogleBooksResponse read(JsonReader in) throws IOException {
+            GoogleBooksResponse response = new GoogleBooksResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "totalItems":
+                        Integer totalItems = readInteger(in);
+                        response.setTotalItems(totalItems != null ? totalItems : 0);
+                        break;
+                    case "items":
+                        response.setItems(readItems(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return response;
+        }
+
+        private static List<GoogleBooksResponse.BookItem> readItems(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<GoogleBooksResponse.BookItem> items = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                items.add(BOOK_ITEM.read(in));
+            }
+            in.endArray();
+            return items;
+        }
+
+        @Override
+        public void write(JsonWriter out, GoogleBooksResponse response) throws IOException {
+            out.beginObject();
+            out.name("items");
+            List<GoogleBooksResponse.BookItem> items = response.getItems();
+            if (items == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (GoogleBooksResponse.BookItem item : items) {
+                    BOOK_ITEM.write(out, item);
+                }
+                out.endArray();
+            }
+            out.name("totalItems").value(response.getTotalItems());
+            out.endObject();
+        }
+    }
+
+    private static final class BookItemAdapter extends TypeAdapter<GoogleBooksResponse.BookItem> {
+        @Override
+        public GoogleBooksResponse.BookItem read(JsonReader in) throws IOException {
+            GoogleBooksResponse.BookItem item = new GoogleBooksResponse.BookItem();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        item.setId(readString(in));
+                        break;
+                    case "volumeInfo":
+                        item.setVolumeInfo(VOLUME_INFO.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return item;
+        }
+
+        @Override
+        public void write(JsonWriter out, GoogleBooksResponse.BookItem item) throws IOException {
+            out.beginObject();
+            out.name("id").value(item.getId());
+            out.name("volumeInfo");
+            VOLUME_INFO.write(out, item.getVolumeInfo());
+            out.endObject();
+        }
+    }
+
+    private static final class VolumeInfoAdapter extends TypeAdapter<GoogleBooksResponse.VolumeInfo> {
+        @Override
+        public GoogleBooksResponse.VolumeInfo read(JsonReader in) throws IOException {
+            GoogleBooksResponse.VolumeInfo info = new GoogleBooksResponse.VolumeInfo();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title":
+                        info.setTitle(readString(in));
+                        break;
+                    case "authors":
+                        info.setAuthors(readStrings(in));
+                        break;
+                    case "description":
+                        info.setDescription(readString(in));
+                        break;
+                    case "categories":
+                        info.setCategories(readStrings(in));
+                        break;
+                    case "imageLinks":
+                        info.setImageLinks(IMAGE_LINKS.read(in));
+                        break;
+                    case "publishedDate":
+                        info.setPublishedDate(readString(in));
+                        break;
+                    case "publisher":
+                        info.setPublisher(readString(in));
+                        break;
+                    case "pageCount":
+                        info.setPageCount(readInteger(in));
+                        break;
+                    case "averageRating":
+                        info.setAverageRating(readDouble(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return info;
+        }
+
+        @Override
+        public void write(JsonWriter out, GoogleBooksResponse.VolumeInfo info) throws IOException {
+            out.beginObject();
+            out.name("title").value(info.getTitle());
+            out.name("authors");
+            writeStrings(out, info.getAuthors());
+            out.name("description").value(info.getDescription());
+            out.name("categories");
+            writeStrings(out, info.getCategories());
+            out.name("imageLinks");
+            IMAGE_LINKS.write(out, info.getImageLinks());
+            out.name("publishedDate").value(info.getPublishedDate());
+            out.name("publisher").value(info.getPublisher());
+            out.name("pageCount").value(info.getPageCount());
+            out.name("averageRating").value(info.getAverageRating());
+            out.endObject();
+        }
+    }
+
+    private static final class ImageLinksAdapter extends TypeAdapter<GoogleBooksResponse.ImageLinks> {
+        @Override
+        public GoogleBooksResponse.ImageLinks read(JsonReader in) throws IOException {
+            GoogleBooksResponse.ImageLinks links = new GoogleBooksResponse.ImageLinks();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "thumbnail":
+                        links.setThumbnail(readString(in));
+                        break;
+                    case "smallThumbnail":
+                        links.setSmallThumbnail(readString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return links;
+        }
+
+        @Override
+        public void write(JsonWriter out, GoogleBooksResponse.ImageLinks links) throws IOException {
+            out.beginObject();
+            out.name("thumbnail").value(links.getThumbnail());
+            out.name("smallThumbnail").value(links.getSmallThumbnail());
+            out.endObject();
+        }
+    }
+
+    // Strings and numbers as text, like Gson's String adapter; null for JSON null
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static List<String> readStrings(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> values = new ArrayList<>(2);
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(readString(in));
+        }
+        in.endArray();
+        return values;
+    }
+
+    private static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Double readDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static void writeStrings(JsonWriter out, List<String> values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+}
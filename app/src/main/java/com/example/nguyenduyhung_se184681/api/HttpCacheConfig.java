@@ -0,0 +1,64 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import java.io.File;
+
+/**
+ * Settings for the on-disk HTTP cache used by RetrofitClient
+ * - maxAgeSeconds: how long a response is served without asking the server
+ *   (0 = revalidate every time with If-None-Match / If-Modified-Since)
+ * - maxStaleSeconds: how old a cached response may be when served offline
+ *   or in stale-while-revalidate mode
+ */
+public class HttpCacheConfig {
+
+    /**
+     * Tells the cache whether the device is online
+     */
+    public interface ConnectivityCheck {
+        boolean isOnline();
+    }
+
+    private static final long DEFAULT_MAX_SIZE_BYTES = 10L * 1024 * 1024; // 10 MB
+    private static final int DEFAULT_MAX_STALE_SECONDS = 7 * 24 * 60 * 60; // 1 week
+
+    private final File directory;
+    private final long maxSizeBytes;
+    private final int maxAgeSeconds;
+    private final int maxStaleSeconds;
+    private final boolean staleWhileRevalidate;
+
+    public HttpCacheConfig(File directory, long maxSizeBytes, int maxAgeSeconds,
+                           int maxStaleSeconds, boolean staleWhileRevalidate) {
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.maxStaleSeconds = maxStaleSeconds;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    // Always revalidate online, serve up to a week old data offline
+    public static HttpCacheConfig defaults(File directory) {
+        return new HttpCacheConfig(directory, DEFAULT_MAX_SIZE_BYTES, 0,
+                DEFAULT_MAX_STALE_SECONDS, false);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public int getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public int getMaxStaleSeconds() {
+        return maxStaleSeconds;
+    }
+
+    public boolean isStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+}
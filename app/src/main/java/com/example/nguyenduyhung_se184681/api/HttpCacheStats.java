@@ -0,0 +1,84 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+
+/**
+ * Counters for the HTTP cache, used to verify bandwidth savings
+ * - hits: served from disk without touching the network
+ * - misses: full download from the server
+ * - revalidations: conditional requests sent (If-None-Match / If-Modified-Since)
+ * - notModified: revalidations answered with 304 (body reused from disk)
+ * - staleServed: responses served past their freshness (offline or stale-while-revalidate)
+ */
+public class HttpCacheStats {
+
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+    private final AtomicLong bytesDownloaded = new AtomicLong();
+    private volatile Cache cache;
+
+    void attach(Cache cache) {
+        this.cache = cache;
+    }
+
+    void recordRevalidation(boolean wasNotModified) {
+        revalidations.incrementAndGet();
+        if (wasNotModified) {
+            notModified.incrementAndGet();
+        }
+    }
+
+    void recordStaleServed() {
+        staleServed.incrementAndGet();
+    }
+
+    void recordBytesDownloaded(long bytes) {
+        if (bytes > 0) {
+            bytesDownloaded.addAndGet(bytes);
+        }
+    }
+
+    public long getRequestCount() {
+        return cache != null ? cache.requestCount() : 0;
+    }
+
+    public long getHitCount() {
+        return cache != null ? cache.hitCount() : 0;
+    }
+
+    // Requests that had to go to the network and could not reuse the cached body
+    public long getMissCount() {
+        long network = cache != null ? cache.networkCount() : 0;
+        return network - notModified.get();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    public long getStaleServedCount() {
+        return staleServed.get();
+    }
+
+    public long getBytesDownloaded() {
+        return bytesDownloaded.get();
+    }
+
+    @Override
+    public String toString() {
+        return "HttpCacheStats{requests=" + getRequestCount()
+                + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount()
+                + ", revalidations=" + getRevalidationCount()
+                + ", notModified=" + getNotModifiedCount()
+                + ", staleServed=" + getStaleServedCount()
+                + ", bytesDownloaded=" + getBytesDownloaded() + "}";
+    }
+}
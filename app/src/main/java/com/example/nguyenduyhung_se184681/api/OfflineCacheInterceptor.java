@@ -0,0 +1,159 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.CacheControl;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that decides when the disk cache may answer
+ * - Offline: serve the cached response, even if stale (up to maxStaleSeconds)
+ * - Network error: fall back to the cached response (stale-if-error)
+ * - Stale-while-revalidate mode: answer from cache right away and, if the
+ *   cached copy is stale, revalidate in the background so the next request gets fresh data
+ */
+class OfflineCacheInterceptor implements Interceptor {
+
+    private static final String TAG = "OfflineCacheInterceptor";
+    // Marks our own background revalidation so it is not answered from cache again
+    private static final String HEADER_BACKGROUND_REVALIDATE = "X-Background-Revalidate";
+    // OkHttp answers 504 when only-if-cached cannot be satisfied
+    private static final int CODE_UNSATISFIABLE = 504;
+
+    private final HttpCacheConfig config;
+    private final HttpCacheStats stats;
+    private final HttpCacheConfig.ConnectivityCheck connectivity;
+    private volatile OkHttpClient client;
+
+    OfflineCacheInterceptor(HttpCacheConfig config, HttpCacheStats stats,
+                            HttpCacheConfig.ConnectivityCheck connectivity) {
+        this.config = config;
+        this.stats = stats;
+        this.connectivity = connectivity;
+    }
+
+    // The client that owns this interceptor, used for background revalidation
+    void setClient(OkHttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+
+        if (request.header(HEADER_BACKGROUND_REVALIDATE) != null) {
+            return chain.proceed(request.newBuilder()
+                    .removeHeader(HEADER_BACKGROUND_REVALIDATE)
+                    .build());
+        }
+
+        if (connectivity != null && !connectivity.isOnline()) {
+            // On a cache miss OkHttp answers 504, which the caller treats as an error
+            Response response = chain.proceed(cacheOnly(request));
+            recordIfStale(response);
+            return response;
+        }
+
+        if (config.isStaleWhileRevalidate()) {
+            CachedResponse cached = proceedFromCache(chain, request);
+            if (cached != null) {
+                // A fresh copy needs no revalidation until it expires
+                if (cached.stale) {
+                    revalidateInBackground(request);
+                }
+                return cached.response;
+            }
+        }
+
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            CachedResponse cached = proceedFromCache(chain, request);
+            if (cached == null) {
+                throw e;
+            }
+            Log.w(TAG, "Network error, serving cached response for " + request.url());
+            return cached.response;
+        }
+    }
+
+    // Returns the cached response (fresh or stale), or null on a cache miss
+    private CachedResponse proceedFromCache(Chain chain, Request request) throws IOException {
+        Response response = chain.proceed(cacheOnly(request));
+        if (response.code() == CODE_UNSATISFIABLE) {
+            response.close();
+            return null;
+        }
+        return new CachedResponse(response, recordIfStale(response));
+    }
+
+    // OkHttp adds "Warning: 110" when it serves a response past its freshness
+    private boolean recordIfStale(Response response) {
+        String warning = response.header("Warning");
+        if (warning != null && warning.startsWith("110")) {
+            stats.recordStaleServed();
+            return true;
+        }
+        return false;
+    }
+
+    private Request cacheOnly(Request request) {
+        return request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(config.getMaxStaleSeconds(), TimeUnit.SECONDS)
+                        .build())
+                .build();
+    }
+
+    private void revalidateInBackground(Request request) {
+        OkHttpClient owner = client;
+        if (owner == null) return;
+
+        owner.newCall(request.newBuilder()
+                .header(HEADER_BACKGROUND_REVALIDATE, "1")
+                .build())
+                .enqueue(new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        Log.w(TAG, "Background revalidation failed for " + request.url(), e);
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        // Reading the body is what writes the fresh copy to the cache
+                        try {
+                            if (response.body() != null) {
+                                response.body().bytes();
+                            }
+                        } catch (IOException e) {
+                            Log.w(TAG, "Background revalidation failed for " + request.url(), e);
+                        } finally {
+                            response.close();
+                        }
+                    }
+                });
+    }
+
+    // A response answered from the cache, and whether it was past its freshness
+    private static final class CachedResponse {
+        final Response response;
+        final boolean stale;
+
+        CachedResponse(Response response, boolean stale) {
+            this.response = response;
+            this.stale = stale;
+        }
+    }
+}
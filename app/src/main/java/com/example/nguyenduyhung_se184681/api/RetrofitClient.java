@@ -1,23 +1,58 @@
 package com.example.nguyenduyhung_se184681.api;
 
+import android.content.Context;
+
+import com.example.nguyenduyhung_se184681.util.NetworkUtils;
+
+import java.io.File;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Retrofit Client Singleton
  * Provides configured Retrofit instance for Google Books API
+ * Responses are kept in an on-disk HTTP cache (see HttpCacheConfig) once init() was called
+ * JSON goes through the streaming BookPage parser or the shared ApiGson
  */
 public class RetrofitClient {
 
     // Google Books API - Free, no API key required for basic usage
     private static final String BASE_URL = "https://www.googleapis.com/books/v1/";
+    private static final String CACHE_DIR_NAME = "http_cache";
+
     private static Retrofit retrofit = null;
+    private static HttpCacheConfig cacheConfig = null;
+    private static HttpCacheConfig.ConnectivityCheck connectivityCheck = null;
+    private static final HttpCacheStats cacheStats = new HttpCacheStats();
+
+    /**
+     * Enable the HTTP cache with default settings
+     * Must be called before the first getClient() to take effect
+     */
+    public static synchronized void init(Context context) {
+        Context appContext = context.getApplicationContext();
+        init(HttpCacheConfig.defaults(new File(appContext.getCacheDir(), CACHE_DIR_NAME)),
+                () -> NetworkUtils.isNetworkAvailable(appContext));
+    }
 
-    public static Retrofit getClient() {
+    public static synchronized void init(HttpCacheConfig config,
+                                         HttpCacheConfig.ConnectivityCheck connectivity) {
+        if (retrofit == null) {
+            cacheConfig = config;
+            connectivityCheck = connectivity;
+        }
+    }
+
+    public static synchronized Retrofit getClient() {
         if (retrofit == null) {
             retrofit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
+                    .client(buildHttpClient(cacheConfig, connectivityCheck, cacheStats))
+                    .addConverterFactory(StreamingBooksConverterFactory.create())
+                    .addConverterFactory(GsonConverterFactory.create(ApiGson.get()))
                     .build();
         }
         return retrofit;
@@ -26,5 +61,49 @@ public class RetrofitClient {
     public static ApiService getApiService() {
         return getClient().create(ApiService.class);
     }
-}
 
+    // Cache hit / miss / revalidation counters of the shared client
+    public static HttpCacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    // Build a standalone service against another host (e.g. a local test server)
+    public static ApiService createApiService(String baseUrl) {
+        return createApiService(baseUrl, new OkHttpClient());
+    }
+
+    public static ApiService createApiService(String baseUrl, OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(StreamingBooksConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(ApiGson.get()))
+                .build()
+                .create(ApiService.class);
+    }
+
+    /**
+     * Build an OkHttp client with the disk cache and its interceptors
+     * A null config gives a plain client without caching
+     */
+    public static OkHttpClient buildHttpClient(HttpCacheConfig config,
+                                               HttpCacheConfig.ConnectivityCheck connectivity,
+                                               HttpCacheStats stats) {
+        if (config == null) {
+            return new OkHttpClient();
+        }
+
+        Cache cache = new Cache(config.getDirectory(), config.getMaxSizeBytes());
+        stats.attach(cache);
+
+        OfflineCacheInterceptor offlineInterceptor =
+                new OfflineCacheInterceptor(config, stats, connectivity);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .cache(cache)
+                .addInterceptor(offlineInterceptor)
+                .addNetworkInterceptor(new CacheRevalidationInterceptor(config, stats))
+                .build();
+        offlineInterceptor.setClient(client);
+        return client;
+    }
+}
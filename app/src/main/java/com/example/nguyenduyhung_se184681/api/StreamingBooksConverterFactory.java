@@ -0,0 +1,94 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.metrics.Counter;
+import com.example.nguyenduyhung_se184681.metrics.Histogram;
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
+import com.google.gson.stream.JsonReader;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Retrofit converter that streams "volumes" responses straight into a BookPage
+ * Only handles BookPage; every other type falls through to the next factory (Gson)
+ * Records the body size ("api.bytes_received", "api.response_size") and the parse
+ * time ("api.parse"); parsing is streamed, so it includes reading the body
+ */
+public class StreamingBooksConverterFactory extends Converter.Factory {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+    private static final Counter BYTES_RECEIVED = METRICS.counter("api.bytes_received");
+    private static final Histogram RESPONSE_SIZE =
+            METRICS.histogram("api.response_size", Histogram.Unit.BYTES);
+    private static final Histogram PARSE_TIME = METRICS.timer("api.parse");
+
+    public static StreamingBooksConverterFactory create() {
+        return new StreamingBooksConverterFactory();
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        if (type != BookPage.class) {
+            return null;
+        }
+        return (Converter<ResponseBody, BookPage>) body -> {
+            long start = System.nanoTime();
+            CountingInputStream counted = new CountingInputStream(body.byteStream());
+            try (JsonReader reader = new JsonReader(new InputStreamReader(counted, charsetOf(body)))) {
+                return BookStreamParser.parse(reader);
+            } finally {
+                body.close();
+                PARSE_TIME.recordNanosSince(start);
+                BYTES_RECEIVED.add(counted.count);
+                RESPONSE_SIZE.record(counted.count);
+            }
+        };
+    }
+
+    private static Charset charsetOf(ResponseBody body) {
+        MediaType contentType = body.contentType();
+        return contentType != null ? contentType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+    }
+
+    // Bytes of the (decompressed) body handed to the parser
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -155,7 +155,8 @@ public class MockPostData {
 
     private static Post createPost(int id, int userId, String title, String body) {
         Post post = new Post();
-        post.setId(id);
+        post.setId(String.valueOf(id));
+        post.setPosition(id);
         post.setUserId(userId);
         post.setTitle(title);
         post.setBody(body);
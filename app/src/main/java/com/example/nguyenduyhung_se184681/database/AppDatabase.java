@@ -1,23 +1,105 @@
 package com.example.nguyenduyhung_se184681.database;
 
+import android.content.ContentValues;
 import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
+import com.example.nguyenduyhung_se184681.model.CatalogCursor;
+import com.example.nguyenduyhung_se184681.model.Favorite;
 import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.model.PostEntity;
+import com.example.nguyenduyhung_se184681.model.PostFts;
 
 /**
  * Room Database class for the application
  * Singleton pattern to ensure single instance
  * Version 3: Switched to Google Books API data
+ * Version 4: Posts keyed by Google Books volume ID, with position and content hash
+ * Version 5: Full-text search table (posts_fts) over title and body
+ * Version 6: Favorites moved out of posts into their own table (favorites)
+ * Version 7: titleKey column and indexes for the filtered post queries
+ * Version 8: Remote paging cursors per search query (catalog_cursors)
+ * Upgrades from version 5 on keep the user's favorites (see MIGRATIONS); older
+ * databases hold only re-downloadable catalog data and are recreated
  */
-@Database(entities = {Post.class}, version = 3, exportSchema = false)
+@Database(entities = {PostEntity.class, PostFts.class, Favorite.class, CatalogCursor.class},
+        version = 8, exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
 
     private static AppDatabase instance;
 
+    /**
+     * 5 -> 6: favorites move from posts.isFavorite into their own table
+     * posts is rebuilt without the column, keeping each row's rowid so the
+     * posts_fts index still points at the right rows
+     * (Room drops the FTS sync triggers before migrating and recreates them after)
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `favorites` (`postId` TEXT NOT NULL, "
+                    + "`favoritedAt` INTEGER NOT NULL, PRIMARY KEY(`postId`))");
+            db.execSQL("INSERT OR IGNORE INTO `favorites` (`postId`, `favoritedAt`) "
+                    + "SELECT `id`, " + System.currentTimeMillis() + " FROM `posts` WHERE `isFavorite` = 1");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `posts_new` (`id` TEXT NOT NULL, "
+                    + "`position` INTEGER NOT NULL, `userId` INTEGER NOT NULL, `title` TEXT, "
+                    + "`body` TEXT, `category` TEXT, `imageUrl` TEXT, `contentHash` TEXT, "
+                    + "PRIMARY KEY(`id`))");
+            db.execSQL("INSERT INTO `posts_new` (`rowid`, `id`, `position`, `userId`, `title`, "
+                    + "`body`, `category`, `imageUrl`, `contentHash`) "
+                    + "SELECT `rowid`, `id`, `position`, `userId`, `title`, `body`, `category`, "
+                    + "`imageUrl`, `contentHash` FROM `posts`");
+            db.execSQL("DROP TABLE `posts`");
+            db.execSQL("ALTER TABLE `posts_new` RENAME TO `posts`");
+        }
+    };
+
+    /**
+     * 6 -> 7: titleKey column and the indexes declared on PostEntity
+     * titleKey is backfilled with Post.toTitleKey rather than SQL lower(), which
+     * only folds ASCII letters and would sort accented titles apart from new rows
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `posts` ADD COLUMN `titleKey` TEXT");
+            try (Cursor cursor = db.query("SELECT `id`, `title` FROM `posts`")) {
+                ContentValues values = new ContentValues();
+                while (cursor.moveToNext()) {
+                    values.put("titleKey", Post.toTitleKey(cursor.getString(1)));
+                    db.update("posts", SQLiteDatabase.CONFLICT_NONE, values, "`id` = ?",
+                            new Object[] {cursor.getString(0)});
+                }
+            }
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_posts_category_position` "
+                    + "ON `posts` (`category`, `position`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_posts_position` ON `posts` (`position`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_posts_titleKey` ON `posts` (`titleKey`)");
+        }
+    };
+
+    // 7 -> 8: remote paging cursors start empty, so the next scroll pages from the top
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `catalog_cursors` (`query` TEXT NOT NULL, "
+                    + "`nextIndex` INTEGER NOT NULL, `exhausted` INTEGER NOT NULL, "
+                    + "`updatedAt` INTEGER NOT NULL, PRIMARY KEY(`query`))");
+        }
+    };
+
+    // Every schema upgrade Room can run in place
+    public static final Migration[] MIGRATIONS = {MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8};
+
     public abstract PostDao postDao();
 
     public static synchronized AppDatabase getInstance(Context context) {
@@ -27,6 +109,7 @@ public abstract class AppDatabase extends RoomDatabase {
                     AppDatabase.class,
                     "post_database"
             )
+            .addMigrations(MIGRATIONS)
             .fallbackToDestructiveMigration()
             .build();
         }
@@ -0,0 +1,20 @@
+package com.example.nguyenduyhung_se184681.database;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What one catalog upsert actually changed (see PostDao.upsertCatalog)
+ * Unchanged rows are in none of the lists
+ */
+public class CatalogSyncDelta {
+    public final List<Post> inserted = new ArrayList<>();
+    public final List<Post> updated = new ArrayList<>();
+    public final List<String> deletedIds = new ArrayList<>();
+
+    public boolean isEmpty() {
+        return inserted.isEmpty() && updated.isEmpty() && deletedIds.isEmpty();
+    }
+}
@@ -1,67 +1,235 @@
 package com.example.nguyenduyhung_se184681.database;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
+import com.example.nguyenduyhung_se184681.model.CatalogCursor;
+import com.example.nguyenduyhung_se184681.model.Favorite;
 import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.model.PostEntity;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Data Access Object for Post entity
- * Provides database operations for posts
+ * Provides database operations for posts and favorites
+ * Queries returning Post fill in isFavorite from the favorites table (primary key lookup)
  */
 @Dao
 public interface PostDao {
 
+    // Post columns plus the favorite flag
+    String SELECT_POSTS = "SELECT posts.*, "
+            + "EXISTS(SELECT 1 FROM favorites WHERE favorites.postId = posts.id) AS isFavorite "
+            + "FROM posts";
+
     // Insert all posts (for initial data load)
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertAll(List<Post> posts);
+    void insertAll(List<PostEntity> posts);
 
     // Insert single post
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insert(Post post);
+    void insert(PostEntity post);
 
-    // Update post (for favorite toggle)
+    // Update post
     @Update
-    void update(Post post);
+    void update(PostEntity post);
+
+    // Insert new posts only, never overwriting an existing row (-1 for rows that already existed)
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    List<Long> insertNew(List<PostEntity> posts);
+
+    // Rewrite the catalog columns of one post
+    // Rows whose content hash and position are unchanged are skipped (returns 0)
+    // Appended rows (position <= 0) keep their position, so a sync never deletes them later
+    @Query("UPDATE posts SET userId = :userId, title = :title, titleKey = :titleKey, body = :body, "
+            + "category = :category, imageUrl = :imageUrl, "
+            + "position = CASE WHEN position <= 0 THEN position ELSE :position END, "
+            + "contentHash = :contentHash "
+            + "WHERE id = :postId AND (contentHash IS NOT :contentHash "
+            + "OR (position > 0 AND position != :position))")
+    int updateCatalogColumns(String postId, int userId, String title, String titleKey, String body,
+                             String category, String imageUrl, int position, String contentHash);
+
+    // Posts that are no longer in the catalog and may be removed (favorites are kept)
+    // Only the synced first pages (position > 0) are checked; appended pages stay
+    @Query("SELECT id FROM posts WHERE position > 0 AND id NOT IN (:catalogIds) "
+            + "AND id NOT IN (SELECT postId FROM favorites)")
+    List<String> getRemovableIdsOutside(List<String> catalogIds);
+
+    // Delete posts by ID
+    @Query("DELETE FROM posts WHERE id IN (:postIds)")
+    void deleteByIds(List<String> postIds);
+
+    // Titles of every stored post (for building the title search index)
+    @Query("SELECT id, title FROM posts")
+    List<PostTitle> getPostTitles();
+
+    /**
+     * Write a fetched catalog in one transaction, entirely in SQL
+     * - new volumes are inserted, existing ones get their catalog columns updated
+     *   only if their content hash or position changed
+     * - favorites live in their own table, so a favorite toggled while a sync runs is kept
+     * - non-favorite posts missing from the catalog are deleted, except those
+     *   appended by remote paging (appendCatalogPage)
+     * Nothing is read up front, and unchanged rows are not written (no LiveData re-emit)
+     */
+    @Transaction
+    default CatalogSyncDelta upsertCatalog(List<Post> catalog) {
+        CatalogSyncDelta delta = new CatalogSyncDelta();
+
+        List<PostEntity> entities = new ArrayList<>(catalog.size());
+        for (Post post : catalog) {
+            entities.add(new PostEntity(post));
+        }
+        List<Long> rowIds = insertNew(entities);
+        List<String> catalogIds = new ArrayList<>(catalog.size());
+        for (int i = 0; i < catalog.size(); i++) {
+            Post post = catalog.get(i);
+            catalogIds.add(post.getId());
+            if (rowIds.get(i) != -1L) {
+                delta.inserted.add(post);
+            } else if (updateCatalogColumns(post.getId(), post.getUserId(), post.getTitle(),
+                    post.getTitleKey(), post.getBody(), post.getCategory(), post.getImageUrl(),
+                    post.getPosition(), post.getContentHash()) > 0) {
+                delta.updated.add(post);
+            }
+        }
+
+        // The catalog is capped well below SQLite's bind-argument limit
+        delta.deletedIds.addAll(getRemovableIdsOutside(catalogIds));
+        if (!delta.deletedIds.isEmpty()) {
+            deleteByIds(delta.deletedIds);
+        }
+        return delta;
+    }
+
+    // Lowest position in use (1 when there are no posts); appended pages go below it
+    @Query("SELECT COALESCE(MIN(position), 1) FROM posts")
+    int getMinPosition();
+
+    // Remote paging cursors, one per search query
+    @Query("SELECT * FROM catalog_cursors")
+    List<CatalogCursor> getCatalogCursors();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertCatalogCursors(List<CatalogCursor> cursors);
+
+    // Cursors for queries that have none yet; existing ones keep their position
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertCatalogCursors(List<CatalogCursor> cursors);
+
+    // Move a synced post (position > 0) to an appended position; 0 if it already is appended
+    @Query("UPDATE posts SET position = :position WHERE id = :postId AND position > 0")
+    int moveToAppended(String postId, int position);
+
+    /**
+     * Write the first pages of a sync and their cursors in one transaction (see upsertCatalog)
+     * Cursors further along than the first pages are kept
+     */
+    @Transaction
+    default CatalogSyncDelta upsertCatalog(List<Post> catalog, List<CatalogCursor> firstPageCursors) {
+        CatalogSyncDelta delta = upsertCatalog(catalog);
+        insertCatalogCursors(firstPageCursors);
+        return delta;
+    }
+
+    /**
+     * Append fetched remote pages and move their cursors, in one transaction
+     * - posts already stored are not rewritten; one stored by a sync (position > 0) is
+     *   moved to its appended position, since the cursor now moves past it and a later
+     *   sync must not delete it when it leaves the first pages
+     * - positions are assigned by the caller, below every existing post
+     * @return the posts that were actually inserted
+     */
+    @Transaction
+    default List<Post> appendCatalogPage(List<Post> posts, List<CatalogCursor> cursors) {
+        List<PostEntity> entities = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            entities.add(new PostEntity(post));
+        }
+        List<Long> rowIds = insertNew(entities);
+        List<Post> inserted = new ArrayList<>();
+        for (int i = 0; i < posts.size(); i++) {
+            Post post = posts.get(i);
+            if (rowIds.get(i) != -1L) {
+                inserted.add(post);
+            } else {
+                moveToAppended(post.getId(), post.getPosition());
+            }
+        }
+        upsertCatalogCursors(cursors);
+        return inserted;
+    }
 
     // Get all posts
-    @Query("SELECT * FROM posts ORDER BY id ASC")
+    @Query(SELECT_POSTS + " ORDER BY position ASC")
     LiveData<List<Post>> getAllPosts();
 
+    // Paged post list, one query per sort order (see PostViewModel.getPagedPosts)
+    @Query(SELECT_POSTS + " ORDER BY position DESC")
+    PagingSource<Integer, Post> getPostsPagedNewest();
+
+    @Query(SELECT_POSTS + " ORDER BY position ASC")
+    PagingSource<Integer, Post> getPostsPagedOldest();
+
+    @Query(SELECT_POSTS + " ORDER BY titleKey ASC")
+    PagingSource<Integer, Post> getPostsPagedByTitle();
+
     // Get all posts (synchronous - for repository)
-    @Query("SELECT * FROM posts ORDER BY id ASC")
+    @Query(SELECT_POSTS + " ORDER BY position ASC")
     List<Post> getAllPostsSync();
 
     // Get post by ID
-    @Query("SELECT * FROM posts WHERE id = :postId")
-    LiveData<Post> getPostById(int postId);
+    @Query(SELECT_POSTS + " WHERE id = :postId")
+    LiveData<Post> getPostById(String postId);
 
     // Get post by ID (synchronous)
-    @Query("SELECT * FROM posts WHERE id = :postId")
-    Post getPostByIdSync(int postId);
+    @Query(SELECT_POSTS + " WHERE id = :postId")
+    Post getPostByIdSync(String postId);
 
-    // Get favorite posts
-    @Query("SELECT * FROM posts WHERE isFavorite = 1 ORDER BY id ASC")
+    // Get favorite posts - driven by the favorites table, so only favorite rows are read
+    @Query("SELECT posts.*, 1 AS isFavorite FROM favorites "
+            + "JOIN posts ON posts.id = favorites.postId ORDER BY posts.position ASC")
     LiveData<List<Post>> getFavoritePosts();
 
-    // Search posts by title or body
-    @Query("SELECT * FROM posts WHERE title LIKE '%' || :query || '%' OR body LIKE '%' || :query || '%' ORDER BY id ASC")
-    LiveData<List<Post>> searchPosts(String query);
+    // Full-text search over title and body (matchQuery built by FtsQueryBuilder)
+    // Returns matchinfo so results can be ranked with Bm25Ranker, but no post
+    // columns - the top hits are loaded with getPostsByIdsSync
+    @Query("SELECT posts.id, posts.position, "
+            + "EXISTS(SELECT 1 FROM favorites WHERE favorites.postId = posts.id) AS isFavorite, "
+            + "matchinfo(posts_fts, 'pcnalx') AS matchInfo FROM posts "
+            + "JOIN posts_fts ON posts.rowid = posts_fts.rowid "
+            + "WHERE posts_fts MATCH :matchQuery")
+    LiveData<List<PostSearchResult>> searchPosts(String matchQuery);
+
+    // Posts with the given IDs, in no particular order (at most 999 IDs)
+    @Query(SELECT_POSTS + " WHERE id IN (:postIds)")
+    List<Post> getPostsByIdsSync(List<String> postIds);
 
     // Get posts by category
-    @Query("SELECT * FROM posts WHERE category = :category ORDER BY id ASC")
+    @Query(SELECT_POSTS + " WHERE category = :category ORDER BY position ASC")
     LiveData<List<Post>> getPostsByCategory(String category);
 
     // Get posts by multiple categories
-    @Query("SELECT * FROM posts WHERE category IN (:categories) ORDER BY id ASC")
+    @Query(SELECT_POSTS + " WHERE category IN (:categories) ORDER BY position ASC")
     LiveData<List<Post>> getPostsByCategories(List<String> categories);
 
+    // Posts matching a filter, compiled into one statement by PostQueryBuilder
+    // Re-runs when posts or favorites change
+    @RawQuery(observedEntities = {PostEntity.class, Favorite.class})
+    LiveData<List<Post>> getFilteredPosts(SupportSQLiteQuery query);
+
     // Get all unique categories
     @Query("SELECT DISTINCT category FROM posts ORDER BY category ASC")
     LiveData<List<String>> getAllCategories();
@@ -74,8 +242,39 @@ public interface PostDao {
     @Query("SELECT COUNT(*) FROM posts")
     int getPostCount();
 
-    // Toggle favorite status
-    @Query("UPDATE posts SET isFavorite = :isFavorite WHERE id = :postId")
-    void updateFavoriteStatus(int postId, boolean isFavorite);
+    // Mark a post as favorite (keeps the original timestamp if it already is one)
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertFavorite(Favorite favorite);
+
+    // Returns the number of rows removed (0 if the post was not a favorite)
+    @Query("DELETE FROM favorites WHERE postId = :postId")
+    int deleteFavorite(String postId);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM favorites WHERE postId = :postId)")
+    boolean isFavorite(String postId);
+
+    // Set favorite status - only the favorites table is written, never posts
+    default void updateFavoriteStatus(String postId, boolean isFavorite) {
+        if (isFavorite) {
+            insertFavorite(new Favorite(postId, System.currentTimeMillis()));
+        } else {
+            deleteFavorite(postId);
+        }
+    }
+
+    /**
+     * Flip the favorite status of each post, in one transaction
+     * The stored state decides the flip: delete, and insert only if nothing was deleted,
+     * so there is no separate read that a concurrent writer could make stale
+     */
+    @Transaction
+    default void flipFavorites(Collection<String> postIds) {
+        long now = System.currentTimeMillis();
+        for (String postId : postIds) {
+            if (deleteFavorite(postId) == 0) {
+                insertFavorite(new Favorite(postId, now));
+            }
+        }
+    }
 }
 
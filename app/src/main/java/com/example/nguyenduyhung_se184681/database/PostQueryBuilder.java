@@ -0,0 +1,107 @@
+package com.example.nguyenduyhung_se184681.database;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.util.PostFilter;
+import com.example.nguyenduyhung_se184681.util.TitleNgramIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiles a PostFilter into a single SQL statement (run through PostDao.getFilteredPosts)
+ * - categories: posts.category IN (...), served by the (category, position) index
+ * - favorites-only: starts from the favorites table, joins posts by primary key
+ * - search: IDs from the title n-gram index when there are few enough of them
+ *   (primary key lookups), otherwise a LIKE on the lowercased titleKey
+ * - sort: ORDER BY position or titleKey, both indexed
+ * Only matching rows are read out of SQLite
+ */
+public final class PostQueryBuilder {
+
+    // Above this many title matches a LIKE is cheaper than binding every ID
+    // (and stays far below SQLite's bind-argument limit)
+    static final int MAX_ID_CANDIDATES = 500;
+
+    private static final String SELECT_FAVORITE_POSTS =
+            "SELECT posts.*, 1 AS isFavorite FROM favorites "
+                    + "JOIN posts ON posts.id = favorites.postId";
+
+    private PostQueryBuilder() {
+    }
+
+    /**
+     * @param titleIndex may be null (e.g. still loading); search then uses LIKE
+     */
+    public static SimpleSQLiteQuery build(PostFilter filter, TitleNgramIndex titleIndex) {
+        StringBuilder sql = new StringBuilder(256);
+        List<Object> args = new ArrayList<>();
+
+        sql.append(filter.isFavoritesOnly() ? SELECT_FAVORITE_POSTS : PostDao.SELECT_POSTS);
+
+        String clause = " WHERE ";
+        if (!filter.getCategories().isEmpty()) {
+            // Sorted so the same filter always gives the same statement
+            Set<String> categories = new TreeSet<>(filter.getCategories());
+            sql.append(clause).append("posts.category IN (");
+            appendPlaceholders(sql, categories.size());
+            sql.append(')');
+            args.addAll(categories);
+            clause = " AND ";
+        }
+
+        String searchQuery = filter.getSearchQuery();
+        if (!searchQuery.isEmpty()) {
+            Set<String> ids = titleIndex != null ? titleIndex.search(searchQuery) : null;
+            if (ids != null && ids.isEmpty()) {
+                // Nothing matches; still a query so the list follows later changes
+                sql.append(clause).append("0");
+            } else if (ids != null && ids.size() <= MAX_ID_CANDIDATES) {
+                sql.append(clause).append("posts.id IN (");
+                appendPlaceholders(sql, ids.size());
+                sql.append(')');
+                args.addAll(new TreeSet<>(ids));
+            } else {
+                sql.append(clause).append("posts.titleKey LIKE ? ESCAPE '\\'");
+                args.add('%' + escapeLike(Post.toTitleKey(searchQuery)) + '%');
+            }
+        }
+
+        sql.append(" ORDER BY ").append(orderBy(filter.getSortOrder()));
+        return new SimpleSQLiteQuery(sql.toString(), args.toArray());
+    }
+
+    private static String orderBy(String sortOrder) {
+        switch (sortOrder) {
+            case PostFilter.SORT_OLDEST:
+                return "posts.position ASC";
+            case PostFilter.SORT_TITLE:
+                return "posts.titleKey ASC";
+            case PostFilter.SORT_NEWEST:
+            default:
+                return "posts.position DESC";
+        }
+    }
+
+    private static void appendPlaceholders(StringBuilder sql, int count) {
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+    }
+
+    // Make %, _ and the escape character itself match literally
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.nguyenduyhung_se184681.database;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A full-text search hit: the post's ID and position plus its FTS4
+ * matchinfo('pcnalx') blob for ranking
+ * Kept this small so every hit can be ranked; only the top posts are then loaded
+ */
+public class PostSearchResult {
+    @NonNull
+    public String id = "";
+    public int position;
+    public boolean isFavorite; // Read so a favorite toggle re-runs the search
+
+    public byte[] matchInfo;
+}
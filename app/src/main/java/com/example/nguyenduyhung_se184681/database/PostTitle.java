@@ -0,0 +1,12 @@
+package com.example.nguyenduyhung_se184681.database;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Lightweight projection of a stored post used to build the title search index
+ */
+public class PostTitle {
+    @NonNull
+    public String id = "";
+    public String title;
+}
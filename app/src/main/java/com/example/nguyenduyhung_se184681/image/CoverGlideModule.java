@@ -0,0 +1,52 @@
+package com.example.nguyenduyhung_se184681.image;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.resource.bitmap.ByteBufferBitmapDecoder;
+import com.bumptech.glide.load.resource.bitmap.Downsampler;
+import com.bumptech.glide.load.resource.bitmap.StreamBitmapDecoder;
+import com.bumptech.glide.module.AppGlideModule;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * App-wide Glide setup
+ * - CoverImage models load through CoverModelLoader (size-aware cover URLs)
+ * - bitmap decodes are timed for CoverStats; Glide's Downsampler still decodes
+ *   straight to the requested size (inSampleSize / inTargetDensity), never
+ *   the full image first
+ */
+@GlideModule
+public final class CoverGlideModule extends AppGlideModule {
+
+    private static final CoverStats stats = new CoverStats();
+
+    public static CoverStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        registry.prepend(CoverImage.class, InputStream.class, new CoverModelLoader.Factory(stats));
+
+        Downsampler downsampler = new Downsampler(registry.getImageHeaderParsers(),
+                context.getResources().getDisplayMetrics(), glide.getBitmapPool(), glide.getArrayPool());
+        registry.prepend(Registry.BUCKET_BITMAP, InputStream.class, Bitmap.class,
+                new TimedBitmapDecoder<>(new StreamBitmapDecoder(downsampler, glide.getArrayPool()), stats));
+        registry.prepend(Registry.BUCKET_BITMAP, ByteBuffer.class, Bitmap.class,
+                new TimedBitmapDecoder<>(new ByteBufferBitmapDecoder(downsampler), stats));
+    }
+
+    // No manifest-declared modules in this app
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.nguyenduyhung_se184681.image;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Glide model for a book cover
+ * Loaded through CoverModelLoader, which asks for the smallest cover variant
+ * that fills the target view (see CoverVariants) instead of the stored URL as is
+ */
+public final class CoverImage {
+
+    private final String imageUrl;
+
+    public CoverImage(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    // Part of Glide's memory cache key
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CoverImage)) return false;
+        CoverImage other = (CoverImage) o;
+        return imageUrl != null ? imageUrl.equals(other.imageUrl) : other.imageUrl == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return imageUrl != null ? imageUrl.hashCode() : 0;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "CoverImage{" + imageUrl + "}";
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.nguyenduyhung_se184681.image;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.load.model.stream.BaseGlideUrlLoader;
+import com.example.nguyenduyhung_se184681.api.CoverVariants;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resolves a CoverImage to the URL of the variant that fits the target view
+ * Glide passes the measured view size, so a list row downloads a small cover
+ * and the detail screen a larger one. Downloaded bytes go to CoverStats
+ */
+public class CoverModelLoader extends BaseGlideUrlLoader<CoverImage> {
+
+    private final CoverStats stats;
+
+    CoverModelLoader(ModelLoader<GlideUrl, InputStream> urlLoader, CoverStats stats) {
+        super(urlLoader);
+        this.stats = stats;
+    }
+
+    @Override
+    protected String getUrl(CoverImage model, int width, int height, Options options) {
+        return CoverVariants.select(model.getImageUrl(), width, height);
+    }
+
+    @Override
+    public boolean handles(@NonNull CoverImage model) {
+        return model.getImageUrl() != null;
+    }
+
+    @Nullable
+    @Override
+    public LoadData<InputStream> buildLoadData(@NonNull CoverImage model, int width, int height,
+                                               @NonNull Options options) {
+        LoadData<InputStream> loadData = super.buildLoadData(model, width, height, options);
+        if (loadData == null) return null;
+        return new LoadData<>(loadData.sourceKey, loadData.alternateKeys,
+                new CountingFetcher(loadData.fetcher, stats));
+    }
+
+    public static class Factory implements ModelLoaderFactory<CoverImage, InputStream> {
+        private final CoverStats stats;
+
+        public Factory(CoverStats stats) {
+            this.stats = stats;
+        }
+
+        @NonNull
+        @Override
+        public ModelLoader<CoverImage, InputStream> build(@NonNull MultiModelLoaderFactory multiFactory) {
+            return new CoverModelLoader(multiFactory.build(GlideUrl.class, InputStream.class), stats);
+        }
+
+        @Override
+        public void teardown() {
+        }
+    }
+
+    /**
+     * Network fetch that counts the bytes the decoder reads from the response
+     * Disk cache hits don't go through here, so only real downloads are counted
+     */
+    private static final class CountingFetcher implements DataFetcher<InputStream> {
+        private final DataFetcher<InputStream> delegate;
+        private final CoverStats stats;
+
+        CountingFetcher(DataFetcher<InputStream> delegate, CoverStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Override
+        public void loadData(@NonNull Priority priority, @NonNull DataCallback<? super InputStream> callback) {
+            delegate.loadData(priority, new DataCallback<InputStream>() {
+                @Override
+                public void onDataReady(@Nullable InputStream data) {
+                    if (data != null) {
+                        stats.recordFetch();
+                        data = new CountingInputStream(data, stats);
+                    }
+                    callback.onDataReady(data);
+                }
+
+                @Override
+                public void onLoadFailed(@NonNull Exception e) {
+                    callback.onLoadFailed(e);
+                }
+            });
+        }
+
+        @Override
+        public void cleanup() {
+            delegate.cleanup();
+        }
+
+        @Override
+        public void cancel() {
+            delegate.cancel();
+        }
+
+        @NonNull
+        @Override
+        public Class<InputStream> getDataClass() {
+            return delegate.getDataClass();
+        }
+
+        @NonNull
+        @Override
+        public DataSource getDataSource() {
+            return delegate.getDataSource();
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final CoverStats stats;
+
+        CountingInputStream(InputStream in, CoverStats stats) {
+            super(in);
+            this.stats = stats;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) stats.recordBytesDownloaded(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            stats.recordBytesDownloaded(read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            stats.recordBytesDownloaded(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.nguyenduyhung_se184681.image;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for cover loading, used to check what each list row costs
+ * - fetches / bytesDownloaded: covers downloaded from the network and their size
+ * - decodes / decodeNanos / decodedBytes: bitmaps decoded (from network or disk cache),
+ *   time spent decoding and the memory the decoded bitmaps take
+ * Glide memory cache hits touch none of these
+ */
+public class CoverStats {
+
+    private final AtomicLong fetches = new AtomicLong();
+    private final AtomicLong bytesDownloaded = new AtomicLong();
+    private final AtomicLong decodes = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+
+    void recordFetch() {
+        fetches.incrementAndGet();
+    }
+
+    void recordBytesDownloaded(long bytes) {
+        if (bytes > 0) {
+            bytesDownloaded.addAndGet(bytes);
+        }
+    }
+
+    void recordDecode(long nanos, long bitmapBytes) {
+        decodes.incrementAndGet();
+        decodeNanos.addAndGet(nanos);
+        decodedBytes.addAndGet(bitmapBytes);
+    }
+
+    public long getFetchCount() {
+        return fetches.get();
+    }
+
+    public long getBytesDownloaded() {
+        return bytesDownloaded.get();
+    }
+
+    public long getDecodeCount() {
+        return decodes.get();
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes.get();
+    }
+
+    public long getDecodeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(decodeNanos.get());
+    }
+
+    // Per row (one cover per row)
+    public long getAverageBytesDownloaded() {
+        long count = fetches.get();
+        return count > 0 ? bytesDownloaded.get() / count : 0;
+    }
+
+    public long getAverageDecodedBytes() {
+        long count = decodes.get();
+        return count > 0 ? decodedBytes.get() / count : 0;
+    }
+
+    public double getAverageDecodeMillis() {
+        long count = decodes.get();
+        return count > 0 ? decodeNanos.get() / 1e6 / count : 0;
+    }
+
+    public void reset() {
+        fetches.set(0);
+        bytesDownloaded.set(0);
+        decodes.set(0);
+        decodeNanos.set(0);
+        decodedBytes.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "CoverStats{fetches=" + getFetchCount()
+                + ", bytesDownloaded=" + getBytesDownloaded()
+                + ", avgBytesDownloaded=" + getAverageBytesDownloaded()
+                + ", decodes=" + getDecodeCount()
+                + ", avgDecodedBytes=" + getAverageDecodedBytes()
+                + ", avgDecodeMs=" + String.format(Locale.ROOT, "%.2f", getAverageDecodeMillis()) + "}";
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.nguyenduyhung_se184681.image;
+
+import android.graphics.Bitmap;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+
+import java.io.IOException;
+
+/**
+ * Wraps one of Glide's bitmap decoders and reports decode time and bitmap size to CoverStats
+ */
+class TimedBitmapDecoder<T> implements ResourceDecoder<T, Bitmap> {
+
+    private final ResourceDecoder<T, Bitmap> delegate;
+    private final CoverStats stats;
+
+    TimedBitmapDecoder(ResourceDecoder<T, Bitmap> delegate, CoverStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @Override
+    public boolean handles(@NonNull T source, @NonNull Options options) throws IOException {
+        return delegate.handles(source, options);
+    }
+
+    @Nullable
+    @Override
+    public Resource<Bitmap> decode(@NonNull T source, int width, int height,
+                                   @NonNull Options options) throws IOException {
+        long start = SystemClock.elapsedRealtimeNanos();
+        Resource<Bitmap> resource = delegate.decode(source, width, height, options);
+        if (resource != null) {
+            stats.recordDecode(SystemClock.elapsedRealtimeNanos() - start, resource.getSize());
+        }
+        return resource;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic count (requests, bytes, errors, ...)
+ * Backed by a LongAdder: threads adding at the same time update separate cells
+ * instead of retrying on one shared value
+ */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
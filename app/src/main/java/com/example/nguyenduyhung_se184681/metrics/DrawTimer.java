@@ -0,0 +1,27 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Records the time from a start point until a view is next drawn
+ * (e.g. from a LiveData emission until its list is on screen)
+ */
+public final class DrawTimer {
+
+    private DrawTimer() {
+    }
+
+    // Call on the main thread once the change is applied to the view
+    public static void recordUntilNextDraw(View view, Histogram histogram, long startNanos) {
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                histogram.recordNanosSince(startNanos);
+                // One-shot; ask the view again, its observer may have changed on re-attach
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+/**
+ * Current value of something owned elsewhere (queue depth, index size, ...)
+ * Read only when a snapshot is taken, so it costs nothing in between
+ */
+public interface Gauge {
+    long getValue();
+}
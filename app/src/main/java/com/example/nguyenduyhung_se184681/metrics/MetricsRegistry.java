@@ -0,0 +1,74 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named counters, gauges and histograms of the app's hot paths
+ * - look a metric up once (e.g. into a static final field) and record into it;
+ *   recording never takes a lock
+ * - lookups of existing metrics are lock-free too; only the first lookup of a
+ *   name creates it
+ * - snapshot() copies every metric, for logging or writing to a file (MetricsReporter)
+ * Plain Java (no Android classes) so it can run in JVM tests and benchmarks
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    // Registry the app records into
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    // Durations, recorded in nanoseconds
+    public Histogram timer(String name) {
+        return histogram(name, Histogram.Unit.NANOSECONDS);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the name is already used with another unit
+     */
+    public Histogram histogram(String name, Histogram.Unit unit) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new Histogram(unit));
+        }
+        if (histogram.getUnit() != unit) {
+            throw new IllegalArgumentException(
+                    "Histogram " + name + " is in " + histogram.getUnit() + ", not " + unit);
+        }
+        return histogram;
+    }
+
+    // Registering a name again replaces the gauge (e.g. a recreated owner)
+    public void gauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            counterValues.put(entry.getKey(), entry.getValue().get());
+        }
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            gaugeValues.put(entry.getKey(), entry.getValue().getValue());
+        }
+        Map<String, Histogram.Snapshot> histogramValues = new TreeMap<>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            histogramValues.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, histogramValues);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Dumps metrics snapshots to logcat (tag "Metrics") and to files/metrics.txt
+ * Read the file with: adb shell run-as com.example.nguyenduyhung_se184681 cat files/metrics.txt
+ * File writes are I/O - call dump() and writeToFile() off the main thread
+ */
+public final class MetricsReporter {
+
+    private static final String TAG = "Metrics";
+    public static final String DUMP_FILE_NAME = "metrics.txt";
+
+    private MetricsReporter() {
+    }
+
+    // Log and write the default registry
+    public static void dump(Context context) {
+        MetricsSnapshot snapshot = MetricsRegistry.getDefault().snapshot();
+        log(snapshot);
+        try {
+            writeToFile(new File(context.getFilesDir(), DUMP_FILE_NAME), snapshot);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not write metrics dump", e);
+        }
+    }
+
+    // One log entry per metric; logcat truncates long entries
+    public static void log(MetricsSnapshot snapshot) {
+        for (String line : snapshot.format().split("\n")) {
+            if (!line.isEmpty()) {
+                Log.i(TAG, line);
+            }
+        }
+    }
+
+    // Written to a temporary file first, so a reader never sees half a dump
+    public static void writeToFile(File file, MetricsSnapshot snapshot) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            writer.write("# taken at " + snapshot.getTakenAtMillis() + "\n");
+            snapshot.writeTo(writer);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+}
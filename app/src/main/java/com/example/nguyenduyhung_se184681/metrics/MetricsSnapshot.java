@@ -0,0 +1,98 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Values of every metric at one point in time, sorted by name
+ * format() gives one line per metric, e.g.
+ *   histogram api.latency.java count=3 mean=412.50ms p50=398.00ms p90=471.00ms p99=471.00ms max=471.18ms
+ */
+public final class MetricsSnapshot {
+
+    private final long takenAtMillis;
+    private final Map<String, Long> counters;
+    private final Map<String, Long> gauges;
+    private final Map<String, Histogram.Snapshot> histograms;
+
+    MetricsSnapshot(long takenAtMillis, Map<String, Long> counters, Map<String, Long> gauges,
+                    Map<String, Histogram.Snapshot> histograms) {
+        this.takenAtMillis = takenAtMillis;
+        this.counters = Collections.unmodifiableMap(counters);
+        this.gauges = Collections.unmodifiableMap(gauges);
+        this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    public long getTakenAtMillis() {
+        return takenAtMillis;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<String, Long> getGauges() {
+        return gauges;
+    }
+
+    public Map<String, Histogram.Snapshot> getHistograms() {
+        return histograms;
+    }
+
+    // 0 for a counter that was never created
+    public long getCounter(String name) {
+        Long value = counters.get(name);
+        return value != null ? value : 0;
+    }
+
+    public Histogram.Snapshot getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    public void writeTo(Appendable out) throws IOException {
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            out.append("counter ").append(entry.getKey())
+                    .append(' ').append(String.valueOf(entry.getValue())).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : gauges.entrySet()) {
+            out.append("gauge ").append(entry.getKey())
+                    .append(' ').append(String.valueOf(entry.getValue())).append('\n');
+        }
+        for (Map.Entry<String, Histogram.Snapshot> entry : histograms.entrySet()) {
+            Histogram.Snapshot h = entry.getValue();
+            out.append("histogram ").append(entry.getKey())
+                    .append(" count=").append(String.valueOf(h.getCount()))
+                    .append(" mean=").append(formatValue(h.getUnit(), h.getMean()))
+                    .append(" p50=").append(formatValue(h.getUnit(), h.getPercentile(0.50)))
+                    .append(" p90=").append(formatValue(h.getUnit(), h.getPercentile(0.90)))
+                    .append(" p99=").append(formatValue(h.getUnit(), h.getPercentile(0.99)))
+                    .append(" max=").append(formatValue(h.getUnit(), h.getMax()))
+                    .append('\n');
+        }
+    }
+
+    private static String formatValue(Histogram.Unit unit, double value) {
+        if (unit == Histogram.Unit.NANOSECONDS) {
+            return String.format(Locale.ROOT, "%.2fms", value / 1e6);
+        }
+        return String.format(Locale.ROOT, "%.0fB", value);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import android.app.ActivityManager;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records time to first content: from process start until the first list of
+ * posts is drawn ("startup.time_to_first_content")
+ * Only cold starts launched to show the UI count; a process started for
+ * background work (e.g. a catalog sync) would measure how long it sat idle
+ */
+public final class StartupTimer {
+
+    private static final String TAG = "StartupTimer";
+    private static final Histogram TIME_TO_FIRST_CONTENT =
+            MetricsRegistry.getDefault().timer("startup.time_to_first_content");
+
+    private static volatile boolean launchedForUi;
+    private static final AtomicBoolean firstContentShown = new AtomicBoolean();
+
+    private StartupTimer() {
+    }
+
+    // Call from Application.onCreate
+    public static void onApplicationCreate() {
+        ActivityManager.RunningAppProcessInfo state = new ActivityManager.RunningAppProcessInfo();
+        ActivityManager.getMyMemoryState(state);
+        launchedForUi = state.importance == ActivityManager.RunningAppProcessInfo.IMPORTANCE_FOREGROUND;
+    }
+
+    // Call on the main thread whenever posts are shown; only the first call counts
+    public static void onContentShown(View view) {
+        if (!launchedForUi || !firstContentShown.compareAndSet(false, true)) return;
+
+        // Measured when the frame with the content is about to be drawn
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                long millis = SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+                TIME_TO_FIRST_CONTENT.record(TimeUnit.MILLISECONDS.toNanos(millis));
+                Log.i(TAG, "Time to first content: " + millis + " ms");
+                return true;
+            }
+        });
+    }
+}
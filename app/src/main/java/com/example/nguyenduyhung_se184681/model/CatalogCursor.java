@@ -0,0 +1,65 @@
+package com.example.nguyenduyhung_se184681.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+/**
+ * Remote paging position of one Google Books search query
+ * Kept in Room, so scrolling further after a restart continues where it stopped
+ */
+@Entity(tableName = "catalog_cursors")
+public class CatalogCursor {
+    @PrimaryKey
+    @NonNull
+    private String query = ""; // Search query (PostRepository.SEARCH_QUERIES)
+    private int nextIndex; // startIndex of the next page to fetch
+    private boolean exhausted; // The query has no more results
+    private long updatedAt; // When the cursor last moved (epoch millis)
+
+    // Default constructor for Room
+    public CatalogCursor() {
+    }
+
+    @Ignore
+    public CatalogCursor(@NonNull String query, int nextIndex, boolean exhausted, long updatedAt) {
+        this.query = query;
+        this.nextIndex = nextIndex;
+        this.exhausted = exhausted;
+        this.updatedAt = updatedAt;
+    }
+
+    @NonNull
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(@NonNull String query) {
+        this.query = query;
+    }
+
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    public void setNextIndex(int nextIndex) {
+        this.nextIndex = nextIndex;
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public void setExhausted(boolean exhausted) {
+        this.exhausted = exhausted;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
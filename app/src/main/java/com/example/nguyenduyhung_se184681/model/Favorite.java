@@ -0,0 +1,45 @@
+package com.example.nguyenduyhung_se184681.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+/**
+ * A favorited post, stored apart from the catalog
+ * Catalog syncs never write this table, and the favorites screen reads only these rows
+ */
+@Entity(tableName = "favorites")
+public class Favorite {
+    @PrimaryKey
+    @NonNull
+    private String postId = ""; // Volume ID of the favorited post
+    private long favoritedAt; // When it was favorited (epoch millis)
+
+    // Default constructor for Room
+    public Favorite() {
+    }
+
+    @Ignore
+    public Favorite(@NonNull String postId, long favoritedAt) {
+        this.postId = postId;
+        this.favoritedAt = favoritedAt;
+    }
+
+    @NonNull
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(@NonNull String postId) {
+        this.postId = postId;
+    }
+
+    public long getFavoritedAt() {
+        return favoritedAt;
+    }
+
+    public void setFavoritedAt(long favoritedAt) {
+        this.favoritedAt = favoritedAt;
+    }
+}
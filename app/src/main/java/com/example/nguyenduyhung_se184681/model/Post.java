@@ -1,24 +1,38 @@
 package com.example.nguyenduyhung_se184681.model;
 
-import androidx.room.Entity;
+import androidx.annotation.NonNull;
 import androidx.room.Ignore;
-import androidx.room.PrimaryKey;
+
+import java.util.Locale;
 
 /**
  * Post model representing data from JSONPlaceholder API
- * Also serves as Room entity for local caching
+ * Stored through PostEntity (catalog columns) and Favorite (favorite state);
+ * read queries return Post with isFavorite filled in from the favorites table
  * NOW with REAL images from Picsum Photos!
  */
-@Entity(tableName = "posts")
 public class Post {
-    @PrimaryKey
-    private int id;
+    // List rows show at most this many characters of the body
+    public static final int SNIPPET_LENGTH = 100;
+
+    @NonNull
+    private String id = ""; // Google Books volume ID - stable across syncs
+    private int position; // Order the book arrived in during the last sync (used for sorting)
     private int userId;
     private String title;
+    private String titleKey; // Lowercased title, indexed for sorting and search (derived in setTitle)
     private String body;
-    private boolean isFavorite; // Track favorite status
+    private boolean isFavorite; // Track favorite status (a row in the favorites table)
     private String category; // For filtering (derived from userId)
     private String imageUrl; // Optional: can be generated based on post ID
+    private String contentHash; // Hash of the catalog columns, lets a sync skip unchanged rows
+
+    // Display-ready text for list rows, derived once when title/body are set
+    // (at ingest, or while Room loads the row) so binding a row does no string work
+    @Ignore
+    private String displayTitle = "";
+    @Ignore
+    private String snippet = "";
 
     // Default constructor for Gson/Room
     public Post() {
@@ -26,22 +40,23 @@ public class Post {
 
     // Constructor - Room will ignore this and use default constructor
     @Ignore
-    public Post(int id, int userId, String title, String body) {
+    public Post(@NonNull String id, int userId, String title, String body) {
         this.id = id;
         this.userId = userId;
-        this.title = title;
-        this.body = body;
+        setTitle(title);
+        setBody(body);
         this.isFavorite = false;
         this.category = "Category " + ((userId % 5) + 1); // Generate 5 categories
         this.imageUrl = "https://picsum.photos/400/300?random=" + id; // Random image for each post
     }
 
     // Getters and Setters
-    public int getId() {
+    @NonNull
+    public String getId() {
         return id;
     }
 
-    public void setId(int id) {
+    public void setId(@NonNull String id) {
         this.id = id;
         // Auto-generate imageUrl if not set
         if (this.imageUrl == null || this.imageUrl.isEmpty()) {
@@ -49,6 +64,14 @@ public class Post {
         }
     }
 
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
     public int getUserId() {
         return userId;
     }
@@ -67,6 +90,21 @@ public class Post {
 
     public void setTitle(String title) {
         this.title = title;
+        this.titleKey = toTitleKey(title);
+        this.displayTitle = toDisplayTitle(title);
+    }
+
+    public String getTitleKey() {
+        return titleKey;
+    }
+
+    public void setTitleKey(String titleKey) {
+        this.titleKey = titleKey;
+    }
+
+    // Case-insensitive key used for title sorting and substring search
+    public static String toTitleKey(String title) {
+        return title != null ? title.toLowerCase(Locale.ROOT) : "";
     }
 
     public String getBody() {
@@ -75,6 +113,31 @@ public class Post {
 
     public void setBody(String body) {
         this.body = body;
+        this.snippet = toSnippet(body);
+    }
+
+    // Title with its first letter capitalized
+    public String getDisplayTitle() {
+        return displayTitle;
+    }
+
+    // Body cut to SNIPPET_LENGTH characters for the list
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public static String toDisplayTitle(String title) {
+        if (title == null || title.isEmpty()) {
+            return "";
+        }
+        return title.substring(0, 1).toUpperCase(Locale.ROOT) + title.substring(1);
+    }
+
+    public static String toSnippet(String body) {
+        if (body == null) {
+            return "";
+        }
+        return body.length() > SNIPPET_LENGTH ? body.substring(0, SNIPPET_LENGTH) + "..." : body;
     }
 
     public boolean isFavorite() {
@@ -100,5 +163,39 @@ public class Post {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Hash of the columns that come from the API (64-bit FNV-1a, hex)
+     * Position, the userId derived from it and favorite status are not part of the content
+     */
+    public String computeContentHash() {
+        long hash = 0xcbf29ce484222325L;
+        hash = fnv1a(hash, title);
+        hash = fnv1a(hash, body);
+        hash = fnv1a(hash, category);
+        hash = fnv1a(hash, imageUrl);
+        return Long.toHexString(hash);
+    }
+
+    private static long fnv1a(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        // Field separator so ("ab", "c") and ("a", "bc") hash differently
+        hash ^= 0xff;
+        hash *= 0x100000001b3L;
+        return hash;
+    }
 }
 
@@ -0,0 +1,42 @@
+package com.example.nguyenduyhung_se184681.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+
+/**
+ * Room entity for the "posts" table - the catalog columns of a Post
+ * Favorite state is kept in the favorites table, so isFavorite is not a column here
+ * Indexes back the filtered/sorted queries (see PostQueryBuilder):
+ * - (category, position): category filter, already in position order
+ * - position: newest/oldest sort
+ * - titleKey: title sort
+ */
+@Entity(tableName = "posts",
+        primaryKeys = "id",
+        ignoredColumns = "isFavorite",
+        indices = {
+                @Index({"category", "position"}),
+                @Index("position"),
+                @Index("titleKey")
+        })
+public class PostEntity extends Post {
+
+    // Default constructor for Room
+    public PostEntity() {
+    }
+
+    // Copy the catalog fields of a post (the favorite flag is not copied)
+    @Ignore
+    public PostEntity(@NonNull Post post) {
+        setImageUrl(post.getImageUrl());
+        setCategory(post.getCategory());
+        setId(post.getId());
+        setPosition(post.getPosition());
+        setUserId(post.getUserId());
+        setTitle(post.getTitle());
+        setBody(post.getBody());
+        setContentHash(post.getContentHash());
+    }
+}
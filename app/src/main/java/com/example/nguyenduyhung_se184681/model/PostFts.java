@@ -0,0 +1,33 @@
+package com.example.nguyenduyhung_se184681.model;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Full-text index over post titles and bodies
+ * External content table: rows live in "posts", Room keeps this index in sync with triggers
+ */
+@Fts4(contentEntity = PostEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "posts_fts")
+public class PostFts {
+    // Column order matters for ranking: 0 = title, 1 = body
+    private String title;
+    private String body;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
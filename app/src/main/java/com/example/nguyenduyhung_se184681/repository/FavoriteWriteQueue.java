@@ -0,0 +1,175 @@
+package com.example.nguyenduyhung_se184681.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for favorite toggles
+ * - a toggle only records a pending flip and returns the new state at once;
+ *   toggling the same post again before the write cancels it out
+ * - pending flips are written together after FLUSH_DELAY_MS, as one transaction
+ *   of atomic SQL flips (PostDao.flipFavorites) on the writer; toggles made
+ *   meanwhile go into the next batch
+ * - nothing is read before writing, so the final state is the stored one flipped
+ *   once per odd number of toggles, however the toggles interleave
+ * - isFavorite() overlays toggles the database rows do not show yet; an entry is
+ *   dropped once a row agrees with it, or OVERLAY_GRACE_MS after it was written
+ * Thread-safe; plain Java so it can run in JVM tests
+ */
+final class FavoriteWriteQueue {
+
+    static final long FLUSH_DELAY_MS = 250;
+    static final long OVERLAY_GRACE_MS = 2000;
+
+    interface Store {
+        // Flip the favorite state of every post, in one transaction
+        void flipFavorites(Collection<String> postIds) throws Exception;
+    }
+
+    interface Scheduler {
+        void schedule(Runnable task, long delayMs);
+    }
+
+    private static final class Overlay {
+        // State shown to the user
+        boolean favorite;
+        // When the last flip was written (System.nanoTime), 0 while one is still to be written
+        long settledAt;
+    }
+
+    private final Store store;
+    private final Executor writer;
+    private final Scheduler scheduler;
+    private final long flushDelayMs;
+
+    // Guarded by this
+    private final Set<String> pendingFlips = new LinkedHashSet<>();
+    private final Set<String> writing = new HashSet<>();
+    private final Map<String, Overlay> overlay = new HashMap<>();
+    private List<PostRepository.FavoriteCallback> pendingCallbacks = new ArrayList<>();
+    private boolean flushScheduled;
+
+    FavoriteWriteQueue(Store store, Executor writer, Scheduler scheduler, long flushDelayMs) {
+        this.store = store;
+        this.writer = writer;
+        this.scheduler = scheduler;
+        this.flushDelayMs = flushDelayMs;
+    }
+
+    /**
+     * @param storedFavorite favorite state of the post as last read from the database
+     * @param callback told if the batch holding this toggle fails to be written (may be null)
+     * @return the state the post has once this toggle is written
+     */
+    synchronized boolean toggle(String postId, boolean storedFavorite,
+                                PostRepository.FavoriteCallback callback) {
+        boolean favorite = !isFavorite(postId, storedFavorite);
+        Overlay entry = overlay.get(postId);
+        if (entry == null) {
+            entry = new Overlay();
+            overlay.put(postId, entry);
+        }
+        entry.favorite = favorite;
+        entry.settledAt = 0;
+
+        if (!pendingFlips.remove(postId)) {
+            pendingFlips.add(postId);
+        } else if (!writing.contains(postId)) {
+            // Back to the stored state, nothing left to write
+            entry.settledAt = System.nanoTime();
+        }
+        if (callback != null) {
+            pendingCallbacks.add(callback);
+        }
+        scheduleFlush();
+        return favorite;
+    }
+
+    // Favorite state to show for a post read from the database
+    synchronized boolean isFavorite(String postId, boolean storedFavorite) {
+        Overlay entry = overlay.get(postId);
+        if (entry == null) {
+            return storedFavorite;
+        }
+        if (entry.settledAt != 0 && (storedFavorite == entry.favorite
+                || System.nanoTime() - entry.settledAt > TimeUnit.MILLISECONDS.toNanos(OVERLAY_GRACE_MS))) {
+            overlay.remove(postId);
+            return storedFavorite;
+        }
+        return entry.favorite;
+    }
+
+    // Toggles not written yet
+    synchronized int getPendingCount() {
+        return pendingFlips.size() + writing.size();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        scheduler.schedule(this::startFlush, flushDelayMs);
+    }
+
+    private void startFlush() {
+        try {
+            writer.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            // Writer is busy; try again after another delay
+            synchronized (this) {
+                flushScheduled = false;
+                scheduleFlush();
+            }
+        }
+    }
+
+    private void flush() {
+        Set<String> batch;
+        List<PostRepository.FavoriteCallback> callbacks;
+        synchronized (this) {
+            flushScheduled = false;
+            batch = new LinkedHashSet<>(pendingFlips);
+            pendingFlips.clear();
+            writing.addAll(batch);
+            callbacks = pendingCallbacks;
+            pendingCallbacks = new ArrayList<>();
+        }
+        if (batch.isEmpty()) return;
+
+        Exception error = null;
+        try {
+            store.flipFavorites(batch);
+        } catch (Exception e) {
+            error = e;
+        }
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (String postId : batch) {
+                writing.remove(postId);
+                Overlay entry = overlay.get(postId);
+                if (entry == null) continue;
+                if (error != null) {
+                    // The flip was not stored: show the state without it
+                    entry.favorite = !entry.favorite;
+                }
+                if (!pendingFlips.contains(postId)) {
+                    entry.settledAt = now;
+                }
+            }
+        }
+        if (error != null) {
+            for (PostRepository.FavoriteCallback callback : callbacks) {
+                callback.onError(error.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.nguyenduyhung_se184681.repository;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Posts the UI has already loaded, by ID, least recently used evicted first
+ * Lets a screen show a post at once (e.g. DetailActivity opened from a list row)
+ * while the database copy is read in the background
+ * Thread-safe; plain Java so it can run in JVM tests
+ */
+final class PostCache {
+
+    private final Map<String, Post> posts;
+
+    PostCache(int maxSize) {
+        posts = new LinkedHashMap<String, Post>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Post> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized void put(Post post) {
+        if (post == null || post.getId() == null) return;
+        posts.put(post.getId(), post);
+    }
+
+    // Null if the post is not cached
+    synchronized Post get(String postId) {
+        return posts.get(postId);
+    }
+
+    synchronized int size() {
+        return posts.size();
+    }
+}
@@ -1,33 +1,165 @@
 package com.example.nguyenduyhung_se184681.repository;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
-
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+
+import com.example.nguyenduyhung_se184681.api.ApiService;
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.api.BookPage;
+import com.example.nguyenduyhung_se184681.api.RetrofitClient;
 import com.example.nguyenduyhung_se184681.database.AppDatabase;
+import com.example.nguyenduyhung_se184681.database.CatalogSyncDelta;
 import com.example.nguyenduyhung_se184681.database.PostDao;
+import com.example.nguyenduyhung_se184681.database.PostQueryBuilder;
+import com.example.nguyenduyhung_se184681.database.PostSearchResult;
+import com.example.nguyenduyhung_se184681.metrics.Counter;
+import com.example.nguyenduyhung_se184681.metrics.Histogram;
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
+import com.example.nguyenduyhung_se184681.metrics.MetricsReporter;
+import com.example.nguyenduyhung_se184681.model.CatalogCursor;
 import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.sync.CatalogSyncEngine;
+import com.example.nguyenduyhung_se184681.util.AppExecutors;
+import com.example.nguyenduyhung_se184681.util.Bm25Ranker;
+import com.example.nguyenduyhung_se184681.util.FtsQueryBuilder;
+import com.example.nguyenduyhung_se184681.util.PostFilter;
+import com.example.nguyenduyhung_se184681.util.SingleFlight;
+import com.example.nguyenduyhung_se184681.util.TitleNgramIndex;
+import com.example.nguyenduyhung_se184681.util.TokenBucketRateLimiter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Repository class implementing offline-first architecture
  * NOW using REAL Google Books API
+ * One instance per app (getInstance); work runs on the shared AppExecutors lanes
+ * Sync and database write times go to MetricsRegistry; every sync dumps a snapshot
+ * The API client (Retrofit, OkHttp, HTTP cache) is only built for the first sync,
+ * on the sync lane, so creating the repository at startup stays cheap
  */
 public class PostRepository {
 
     private static final String TAG = "PostRepository";
+
+    // Multiple book searches to get diverse content
+    private static final List<String> SEARCH_QUERIES = Arrays.asList(
+            "programming",
+            "android development",
+            "java",
+            "mobile apps",
+            "software engineering"
+    );
+    private static final int RESULTS_PER_QUERY = 20;
+    private static final int MAX_POSTS = 100;
+    private static final int POST_CACHE_SIZE = 200;
+
+    // All queries may start together (the sync lane has a thread for each),
+    // then at most 5 new requests per second
+    private static final int SYNC_PARALLELISM = 5;
+    private static final TokenBucketRateLimiter API_RATE_LIMITER =
+            new TokenBucketRateLimiter(SYNC_PARALLELISM, 5.0);
+
+    // Title matches count twice as much as body matches
+    private static final Bm25Ranker SEARCH_RANKER = new Bm25Ranker(2.0, 1.0);
+    // Search results shown at most; lower-ranked hits are never loaded
+    private static final int SEARCH_RESULT_LIMIT = 100;
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+    private static final Histogram SYNC_TIME = METRICS.timer("sync.total");
+    private static final Histogram CATALOG_WRITE_TIME = METRICS.timer("db.write.catalog");
+    private static final Histogram FAVORITE_WRITE_TIME = METRICS.timer("db.write.favorite");
+    private static final Histogram APPEND_TIME = METRICS.timer("sync.append");
+    private static final Counter APPENDED_POSTS = METRICS.counter("sync.appended_posts");
+
+    // Wait this long after a failed remote page before trying again
+    private static final long APPEND_RETRY_DELAY_MS = 10_000;
+
+    private static volatile PostRepository instance;
+
+    private final Application application;
     private final PostDao postDao;
-    private final ExecutorService executorService;
+    private final AppExecutors executors;
+    private final Supplier<ApiService> apiServiceFactory;
+    private final TitleIndexStore titleIndexStore;
+    private final SingleFlight singleFlightSync;
+    // Remote paging (loadMoreFromApi); one page fetch at a time
+    private final SingleFlight singleFlightAppend;
+    private volatile long appendRetryAfterNanos;
+    private final FavoriteWriteQueue favoriteQueue;
+    private final PostCache postCache = new PostCache(POST_CACHE_SIZE);
+    // Created by the first sync (see syncEngine())
+    private CatalogSyncEngine syncEngine;
+
+    public static PostRepository getInstance(Application application) {
+        if (instance == null) {
+            synchronized (PostRepository.class) {
+                if (instance == null) {
+                    instance = new PostRepository(application, () -> defaultApiService(application));
+                }
+            }
+        }
+        return instance;
+    }
 
-    public PostRepository(Application application) {
+    // Sync against another server (e.g. a local test server); the app uses getInstance()
+    public PostRepository(Application application, ApiService apiService) {
+        this(application, () -> apiService);
+    }
+
+    private PostRepository(Application application, Supplier<ApiService> apiServiceFactory) {
+        this.application = application;
+        this.apiServiceFactory = apiServiceFactory;
         AppDatabase database = AppDatabase.getInstance(application);
         postDao = database.postDao();
-        executorService = Executors.newFixedThreadPool(2);
+        executors = AppExecutors.getInstance();
+        titleIndexStore = TitleIndexStore.getInstance(application);
+        singleFlightSync = new SingleFlight(executors.sync(), this::runSync);
+        singleFlightAppend = new SingleFlight(executors.sync(), this::runAppend);
+        executors.dbRead().execute(titleIndexStore::load);
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        favoriteQueue = new FavoriteWriteQueue(
+                this::writeFavoriteFlips,
+                executors.dbWrite(),
+                mainHandler::postDelayed,
+                FavoriteWriteQueue.FLUSH_DELAY_MS);
+    }
+
+    private static ApiService defaultApiService(Application application) {
+        RetrofitClient.init(application);
+        return RetrofitClient.getApiService();
+    }
+
+    private synchronized CatalogSyncEngine syncEngine() {
+        if (syncEngine == null) {
+            syncEngine = new CatalogSyncEngine(
+                    apiServiceFactory.get(),
+                    executors.sync(),
+                    API_RATE_LIMITER,
+                    RESULTS_PER_QUERY);
+        }
+        return syncEngine;
     }
 
     // Get all posts from database (LiveData)
@@ -35,9 +167,38 @@ public class PostRepository {
         return postDao.getAllPosts();
     }
 
-    // Get post by ID from database (LiveData)
-    public LiveData<Post> getPostById(int postId) {
-        return postDao.getPostById(postId);
+    // Get all posts page by page, in the given sort order ("newest", "oldest", "title")
+    public LiveData<PagingData<Post>> getPagedPosts(String sortOrder, PagingConfig config) {
+        Pager<Integer, Post> pager = new Pager<>(config, () -> {
+            switch (sortOrder) {
+                case PostFilter.SORT_OLDEST:
+                    return postDao.getPostsPagedOldest();
+                case PostFilter.SORT_TITLE:
+                    return postDao.getPostsPagedByTitle();
+                case PostFilter.SORT_NEWEST:
+                default:
+                    return postDao.getPostsPagedNewest();
+            }
+        });
+        return PagingLiveData.getLiveData(pager);
+    }
+
+    // Get post by ID from database (LiveData); each loaded post also refreshes the post cache
+    public LiveData<Post> getPostById(String postId) {
+        return Transformations.map(postDao.getPostById(postId), post -> {
+            postCache.put(post);
+            return post;
+        });
+    }
+
+    // Remember a post the UI already has (e.g. a tapped list row) for getCachedPost()
+    public void cachePost(Post post) {
+        postCache.put(post);
+    }
+
+    // A post the UI loaded earlier, or null; may be older than the database copy
+    public Post getCachedPost(String postId) {
+        return postCache.get(postId);
     }
 
     // Get favorite posts
@@ -45,9 +206,83 @@ public class PostRepository {
         return postDao.getFavoritePosts();
     }
 
-    // Search posts
+    // Title substring index, or null while it is still loading
+    public TitleNgramIndex getTitleIndex() {
+        return titleIndexStore.getIndex();
+    }
+
+    // Emits the title index once it is loaded and whenever a sync changed it
+    public LiveData<TitleNgramIndex> getTitleIndexUpdates() {
+        return titleIndexStore.getUpdates();
+    }
+
+    // Posts matching the filter, filtered and sorted by SQLite (see PostQueryBuilder)
+    // Searches the title index while building the query - call off the main thread
+    public LiveData<List<Post>> getFilteredPosts(PostFilter filter) {
+        return postDao.getFilteredPosts(PostQueryBuilder.build(filter, getTitleIndex()));
+    }
+
+    // Search posts by title/body words (prefix match), best matches first
+    // Hits are ranked on the db-read lane; only the best SEARCH_RESULT_LIMIT posts are loaded
     public LiveData<List<Post>> searchPosts(String query) {
-        return postDao.searchPosts(query);
+        String matchQuery = FtsQueryBuilder.build(query);
+        if (matchQuery == null) {
+            return new MutableLiveData<>(new ArrayList<>());
+        }
+        MediatorLiveData<List<Post>> results = new MediatorLiveData<>();
+        AtomicInteger generation = new AtomicInteger();
+        results.addSource(postDao.searchPosts(matchQuery), hits -> {
+            int run = generation.incrementAndGet();
+            executors.dbRead().execute(() -> {
+                List<Post> ranked = loadRankedPosts(hits != null ? hits : Collections.emptyList());
+                // Newer hits arrived meanwhile: their run posts instead
+                if (run == generation.get()) {
+                    results.postValue(ranked);
+                }
+            });
+        });
+        return results;
+    }
+
+    private List<Post> loadRankedPosts(List<PostSearchResult> hits) {
+        List<String> rankedIds = rankSearchResults(hits, SEARCH_RESULT_LIMIT);
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Post> byId = new HashMap<>();
+        for (Post post : postDao.getPostsByIdsSync(rankedIds)) {
+            byId.put(post.getId(), post);
+        }
+        List<Post> ranked = new ArrayList<>(rankedIds.size());
+        for (String postId : rankedIds) {
+            Post post = byId.get(postId);
+            // Removed by a sync since the hits were read
+            if (post != null) {
+                ranked.add(post);
+            }
+        }
+        return ranked;
+    }
+
+    // IDs of the best `limit` hits, highest score first; ties keep catalog order
+    private static List<String> rankSearchResults(List<PostSearchResult> results, int limit) {
+        double[] scores = new double[results.size()];
+        Integer[] order = new Integer[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            scores[i] = SEARCH_RANKER.score(results.get(i).matchInfo);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore
+                    : Integer.compare(results.get(a).position, results.get(b).position);
+        });
+        int count = Math.min(limit, order.length);
+        List<String> rankedIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rankedIds.add(results.get(order[i]).id);
+        }
+        return rankedIds;
     }
 
     // Get posts by category
@@ -67,194 +302,231 @@ public class PostRepository {
 
     // Check if database is empty
     public void isDatabaseEmpty(DatabaseCheckCallback callback) {
-        executorService.execute(() -> {
+        executors.dbRead().execute(() -> {
             int count = postDao.getPostCount();
             callback.onResult(count == 0);
         });
     }
 
-    // Fetch posts from Google Books API
+    // Fetch posts from Google Books API (joins a sync that is already running)
     public void fetchPostsFromApi(final FetchCallback callback) {
-        executorService.execute(() -> {
-            try {
-                // Multiple book searches to get diverse content
-                String[] searchQueries = {
-                    "programming",
-                    "android development",
-                    "java",
-                    "mobile apps",
-                    "software engineering"
-                };
-
-                List<Post> allPosts = new ArrayList<>();
-                int postId = 1;
-
-                // Get current favorite states before replacing
-                List<Post> existingPosts = postDao.getAllPostsSync();
-
-                for (String query : searchQueries) {
-                    try {
-                        // Call Google Books API
-                        retrofit2.Response<com.example.nguyenduyhung_se184681.model.GoogleBooksResponse> response =
-                            com.example.nguyenduyhung_se184681.api.RetrofitClient.getApiService()
-                                .searchBooks(query, 20)
-                                .execute();
-
-                        if (response.isSuccessful() && response.body() != null) {
-                            com.example.nguyenduyhung_se184681.model.GoogleBooksResponse booksResponse = response.body();
-
-                            if (booksResponse.getItems() != null) {
-                                // Convert books to Post model
-                                for (com.example.nguyenduyhung_se184681.model.GoogleBooksResponse.BookItem book : booksResponse.getItems()) {
-                                    Post post = convertBookToPost(book, postId++);
-                                    if (post != null) {
-                                        allPosts.add(post);
-                                    }
-
-                                    // Limit to 100 posts total
-                                    if (allPosts.size() >= 100) break;
-                                }
-                            }
-                        }
-
-                        if (allPosts.size() >= 100) break;
-
-                        // Small delay between requests
-                        Thread.sleep(200);
-
-                    } catch (Exception e) {
-                        Log.w(TAG, "Error fetching books for query: " + query, e);
-                    }
-                }
-
-                if (allPosts.isEmpty()) {
-                    throw new Exception("No books found from API");
-                }
-
-                // Preserve favorite status from existing posts
-                for (Post newPost : allPosts) {
-                    for (Post existingPost : existingPosts) {
-                        if (newPost.getId() == existingPost.getId()) {
-                            newPost.setFavorite(existingPost.isFavorite());
-                            break;
-                        }
-                    }
-                }
+        requestSync(false, callback);
+    }
 
-                // Save to database
-                postDao.insertAll(allPosts);
-                Log.d(TAG, "Successfully loaded " + allPosts.size() + " books from Google Books API");
+    // Fetch posts for an explicit refresh: a sync already running is followed by a fresh one
+    public void refreshPostsFromApi(final FetchCallback callback) {
+        requestSync(true, callback);
+    }
 
+    /**
+     * At most one sync runs at a time (SingleFlight); every caller gets the result
+     * of the run it attached to, on the sync lane
+     */
+    private void requestSync(boolean needsFollowUp, FetchCallback callback) {
+        singleFlightSync.request(needsFollowUp).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Error fetching books from API", error);
                 if (callback != null) {
-                    callback.onSuccess();
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error fetching books from API", e);
-                if (callback != null) {
-                    callback.onError(e.getMessage());
+                    callback.onError(error.getMessage());
                 }
+            } else if (callback != null) {
+                callback.onSuccess();
             }
         });
     }
 
     /**
-     * Convert Google Books BookItem to Post model
+     * Fetch the catalog and save it, waiting on the calling thread (e.g. CatalogSyncWorker)
+     * Joins a sync that is already running instead of starting another
+     * @throws Exception if no books could be fetched
      */
-    private Post convertBookToPost(com.example.nguyenduyhung_se184681.model.GoogleBooksResponse.BookItem book, int postId) {
+    public void syncFromApi() throws Exception {
         try {
-            com.example.nguyenduyhung_se184681.model.GoogleBooksResponse.VolumeInfo info = book.getVolumeInfo();
-            if (info == null || info.getTitle() == null) {
-                return null;
-            }
+            singleFlightSync.request(false).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
 
-            Post post = new Post();
-            post.setId(postId);
+    // One catalog sync; only ever run through singleFlightSync
+    private void runSync() throws Exception {
+        long start = System.nanoTime();
+        // Run all queries concurrently (first page of each); books come back in query order
+        Map<String, Integer> firstPages = new LinkedHashMap<>();
+        for (String query : SEARCH_QUERIES) {
+            firstPages.put(query, 0);
+        }
+        Map<String, BookPage> pages = syncEngine().fetchPages(firstPages);
 
-            // Set title
-            post.setTitle(info.getTitle());
+        // Keep the first copy of a volume that shows up under several queries
+        Map<String, Post> catalog = new LinkedHashMap<>();
+        outer:
+        for (BookPage page : pages.values()) {
+            for (Post post : page.getPosts()) {
+                if (catalog.containsKey(post.getId())) continue;
 
-            // Set description/body
-            String body = info.getDescription();
-            if (body == null || body.isEmpty()) {
-                body = "A book about " + info.getTitle();
-                if (info.getAuthors() != null && !info.getAuthors().isEmpty()) {
-                    body += " by " + String.join(", ", info.getAuthors());
-                }
-            }
-            // Limit body length
-            if (body.length() > 500) {
-                body = body.substring(0, 497) + "...";
+                BookMapper.assignPosition(post, catalog.size() + 1);
+                catalog.put(post.getId(), post);
+
+                // Limit to 100 posts total; later pages come from loadMoreFromApi()
+                if (catalog.size() >= MAX_POSTS) break outer;
             }
-            post.setBody(body);
-
-            // Set category from book categories
-            String category = "Technology";
-            if (info.getCategories() != null && !info.getCategories().isEmpty()) {
-                category = info.getCategories().get(0);
-                // Simplify category names
-                if (category.contains("Programming") || category.contains("Computers")) {
-                    category = "Programming";
-                } else if (category.contains("Technology")) {
-                    category = "Technology";
-                } else if (category.contains("Business")) {
-                    category = "Business";
-                } else if (category.contains("Education")) {
-                    category = "Education";
-                }
+        }
+
+        if (catalog.isEmpty()) {
+            throw new Exception("No books found from API");
+        }
+
+        // Save only what actually changed
+        // Remote paging continues after the first page; cursors further along are kept
+        syncCatalog(catalog, advanceCursors(pages, firstPages));
+        SYNC_TIME.recordNanosSince(start);
+        MetricsReporter.dump(application);
+    }
+
+    /**
+     * Fetch the next page of every search query and append it to the catalog, in the background
+     * Called as the list scrolls towards its end (see MainActivity); returns at once
+     * - requests while an append is running join it, so pages are never fetched twice
+     * - after a failed append, requests are ignored (and fail) for APPEND_RETRY_DELAY_MS
+     * The callback is called on the sync lane
+     */
+    public void loadMoreFromApi(FetchCallback callback) {
+        long retryAfter = appendRetryAfterNanos;
+        if (retryAfter != 0 && System.nanoTime() - retryAfter < 0) {
+            if (callback != null) callback.onError("Waiting to retry after a failed page");
+            return;
+        }
+        singleFlightAppend.request(false).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Log.w(TAG, "Error loading more books", error);
+                appendRetryAfterNanos = System.nanoTime()
+                        + TimeUnit.MILLISECONDS.toNanos(APPEND_RETRY_DELAY_MS);
+                if (callback != null) callback.onError(error.getMessage());
+            } else if (callback != null) {
+                callback.onSuccess();
             }
-            post.setCategory(category);
-
-            // Set image URL
-            String imageUrl = null;
-            if (info.getImageLinks() != null) {
-                imageUrl = info.getImageLinks().getThumbnail();
-                if (imageUrl != null) {
-                    // Use HTTPS
-                    imageUrl = imageUrl.replace("http://", "https://");
-                }
+        });
+    }
+
+    /**
+     * One remote page per query that has more results, from the persisted cursors
+     * - volumes already stored are skipped (PostDao.appendCatalogPage)
+     * - new posts get positions below every stored post, so they come last in the
+     *   default (newest first) order
+     * - posts and cursors are written in one transaction, so a restart resumes
+     *   exactly after the last appended page
+     * Only ever run through singleFlightAppend
+     */
+    private void runAppend() throws Exception {
+        long start = System.nanoTime();
+        Map<String, Integer> nextPages = new LinkedHashMap<>();
+        Map<String, CatalogCursor> cursors = new HashMap<>();
+        for (CatalogCursor cursor : postDao.getCatalogCursors()) {
+            cursors.put(cursor.getQuery(), cursor);
+        }
+        for (String query : SEARCH_QUERIES) {
+            CatalogCursor cursor = cursors.get(query);
+            // No cursor yet: the first sync has not run, it fetches the first pages
+            if (cursor != null && !cursor.isExhausted()) {
+                nextPages.put(query, cursor.getNextIndex());
             }
-            if (imageUrl == null || imageUrl.isEmpty()) {
-                imageUrl = "https://picsum.photos/400/600?random=" + postId;
+        }
+        if (nextPages.isEmpty()) return;
+
+        Map<String, BookPage> pages = syncEngine().fetchPages(nextPages);
+        if (pages.isEmpty()) {
+            throw new Exception("No pages could be fetched");
+        }
+
+        int position = Math.min(postDao.getMinPosition(), 1);
+        Map<String, Post> appended = new LinkedHashMap<>();
+        for (BookPage page : pages.values()) {
+            for (Post post : page.getPosts()) {
+                if (appended.containsKey(post.getId())) continue;
+                BookMapper.assignPosition(post, --position);
+                appended.put(post.getId(), post);
             }
-            post.setImageUrl(imageUrl);
+        }
 
-            // Set userId (for legacy purposes)
-            post.setUserId((postId % 5) + 1);
+        long writeStart = System.nanoTime();
+        List<Post> inserted = postDao.appendCatalogPage(
+                new ArrayList<>(appended.values()), advanceCursors(pages, nextPages));
+        CATALOG_WRITE_TIME.recordNanosSince(writeStart);
+        if (!inserted.isEmpty()) {
+            titleIndexStore.applySyncDelta(inserted,
+                    Collections.<Post>emptyList(), Collections.<String>emptyList());
+        }
+        APPENDED_POSTS.add(inserted.size());
+        APPEND_TIME.recordNanosSince(start);
+        Log.d(TAG, "Appended " + inserted.size() + " of " + appended.size()
+                + " books from " + pages.size() + " pages");
+    }
 
-            post.setFavorite(false);
+    // Cursors just after the fetched pages; a short or empty page ends its query
+    private List<CatalogCursor> advanceCursors(Map<String, BookPage> pages,
+                                               Map<String, Integer> startIndexByQuery) {
+        int pageSize = syncEngine().getMaxResultsPerQuery();
+        long now = System.currentTimeMillis();
+        List<CatalogCursor> cursors = new ArrayList<>(pages.size());
+        for (Map.Entry<String, BookPage> entry : pages.entrySet()) {
+            BookPage page = entry.getValue();
+            int nextIndex = startIndexByQuery.get(entry.getKey()) + pageSize;
+            boolean exhausted = page.getPosts().isEmpty() || nextIndex >= page.getTotalItems();
+            cursors.add(new CatalogCursor(entry.getKey(), nextIndex, exhausted, now));
+        }
+        return cursors;
+    }
 
-            return post;
-        } catch (Exception e) {
-            Log.e(TAG, "Error converting book to post", e);
-            return null;
+    /**
+     * Write the fetched catalog with a single SQL upsert transaction (see PostDao.upsertCatalog)
+     * - New volumes are inserted, changed ones updated, unchanged ones skipped
+     * - Volumes that left the catalog are removed unless they are favorites or were
+     *   appended by remote paging
+     * - Favorite flags are never rewritten, so toggles made during the sync survive
+     * - Cursors for queries without one are written in the same transaction
+     */
+    private void syncCatalog(Map<String, Post> catalog, List<CatalogCursor> firstPageCursors) {
+        long start = System.nanoTime();
+        CatalogSyncDelta delta = postDao.upsertCatalog(
+                new ArrayList<>(catalog.values()), firstPageCursors);
+        CATALOG_WRITE_TIME.recordNanosSince(start);
+        if (!delta.isEmpty()) {
+            titleIndexStore.applySyncDelta(delta.inserted, delta.updated, delta.deletedIds);
         }
+        Log.d(TAG, "Synced " + catalog.size() + " books from Google Books API: "
+                + delta.inserted.size() + " inserted, " + delta.updated.size() + " updated, "
+                + delta.deletedIds.size() + " removed; " + executors);
     }
 
-    // Toggle favorite status
+    /**
+     * Toggle favorite status
+     * The new state is reported to the callback right away; the write is queued
+     * (FavoriteWriteQueue) and batched with other toggles made shortly after
+     * onError is called later, on a background thread, if the write fails
+     */
     public void toggleFavorite(Post post, FavoriteCallback callback) {
-        executorService.execute(() -> {
-            try {
-                // Read current stored value to avoid race conditions or stale objects
-                Post current = postDao.getPostByIdSync(post.getId());
-                if (current == null) {
-                    // Fall back to toggling the passed post if DB record missing
-                    boolean newState = !post.isFavorite();
-                    postDao.updateFavoriteStatus(post.getId(), newState);
-                    if (callback != null) callback.onSuccess(newState);
-                } else {
-                    boolean newState = !current.isFavorite();
-                    // Update only the favorite column to avoid overwriting other fields
-                    postDao.updateFavoriteStatus(current.getId(), newState);
-                    if (callback != null) callback.onSuccess(newState);
-                }
-             } catch (Exception e) {
-                 Log.e(TAG, "Error toggling favorite", e);
-                 if (callback != null) {
-                     callback.onError(e.getMessage());
-                 }
-             }
-         });
-     }
+        boolean newState = favoriteQueue.toggle(post.getId(), post.isFavorite(), callback);
+        if (callback != null) callback.onSuccess(newState);
+    }
+
+    // Favorite state to show for a post read from the database, including queued toggles
+    public boolean isFavorite(Post post) {
+        return favoriteQueue.isFavorite(post.getId(), post.isFavorite());
+    }
+
+    private void writeFavoriteFlips(Collection<String> postIds) {
+        long start = System.nanoTime();
+        try {
+            // Only the favorites table is written, the catalog row is untouched
+            postDao.flipFavorites(postIds);
+            FAVORITE_WRITE_TIME.recordNanosSince(start);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error writing " + postIds.size() + " favorite toggles", e);
+            throw e;
+        }
+    }
 
     // Callback interfaces
     public interface FetchCallback {
@@ -0,0 +1,120 @@
+package com.example.nguyenduyhung_se184681.repository;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.nguyenduyhung_se184681.database.AppDatabase;
+import com.example.nguyenduyhung_se184681.database.PostDao;
+import com.example.nguyenduyhung_se184681.database.PostTitle;
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.util.TitleNgramIndex;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the shared title n-gram index in step with the posts table
+ * - Loaded from the on-disk snapshot at startup; rebuilt from Room when the
+ *   snapshot is missing, unreadable or holds a different number of posts
+ * - Catalog sync deltas are applied incrementally, then the snapshot is re-saved
+ * - getUpdates() emits the index once loaded and after every change
+ * load() and applySyncDelta() do database and file I/O - call them off the main thread
+ */
+class TitleIndexStore {
+
+    private static final String TAG = "TitleIndexStore";
+    private static final String SNAPSHOT_NAME = "title_index.bin";
+
+    private static TitleIndexStore instance;
+
+    private final PostDao postDao;
+    private final File snapshotFile;
+    // Null until load() has finished
+    private volatile TitleNgramIndex index;
+    private final MutableLiveData<TitleNgramIndex> updates = new MutableLiveData<>();
+
+    private TitleIndexStore(Application application) {
+        postDao = AppDatabase.getInstance(application).postDao();
+        snapshotFile = new File(application.getFilesDir(), SNAPSHOT_NAME);
+    }
+
+    static synchronized TitleIndexStore getInstance(Application application) {
+        if (instance == null) {
+            instance = new TitleIndexStore(application);
+        }
+        return instance;
+    }
+
+    // The index, or null while it is still loading
+    TitleNgramIndex getIndex() {
+        return index;
+    }
+
+    LiveData<TitleNgramIndex> getUpdates() {
+        return updates;
+    }
+
+    synchronized void load() {
+        if (index != null) return;
+
+        long start = System.nanoTime();
+        int postCount = postDao.getPostCount();
+        TitleNgramIndex loaded = null;
+        if (snapshotFile.exists()) {
+            try {
+                loaded = TitleNgramIndex.readFrom(snapshotFile);
+                if (loaded.size() != postCount) {
+                    Log.d(TAG, "Title index snapshot is out of date, rebuilding");
+                    loaded = null;
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Could not read title index snapshot, rebuilding", e);
+            }
+        }
+        if (loaded == null) {
+            loaded = new TitleNgramIndex();
+            for (PostTitle row : postDao.getPostTitles()) {
+                loaded.put(row.id, row.title);
+            }
+            save(loaded);
+        }
+        index = loaded;
+        updates.postValue(loaded);
+        Log.d(TAG, "Title index ready: " + loaded.size() + " posts in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    // Apply a sync delta that has already been written to the database
+    synchronized void applySyncDelta(List<Post> inserts, List<Post> updatedPosts, List<String> deletes) {
+        if (index == null) {
+            // Loading reads the database, which already has the delta
+            load();
+            return;
+        }
+        for (String postId : deletes) {
+            index.remove(postId);
+        }
+        for (Post post : inserts) {
+            index.put(post.getId(), post.getTitle());
+        }
+        for (Post post : updatedPosts) {
+            index.put(post.getId(), post.getTitle());
+        }
+        save(index);
+        updates.postValue(index);
+    }
+
+    private void save(TitleNgramIndex toSave) {
+        try {
+            toSave.writeTo(snapshotFile);
+        } catch (IOException e) {
+            // Not fatal - the index is rebuilt from Room next time
+            Log.w(TAG, "Could not save title index snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.nguyenduyhung_se184681.sync;
+
+import android.util.Log;
+
+import com.example.nguyenduyhung_se184681.api.ApiService;
+import com.example.nguyenduyhung_se184681.api.BookPage;
+import com.example.nguyenduyhung_se184681.metrics.Counter;
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.util.TokenBucketRateLimiter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import retrofit2.Response;
+
+/**
+ * Runs the Google Books search queries of a catalog sync concurrently
+ * - Parallelism is bounded by the size of the executor passed in
+ * - A shared token bucket spaces out request starts (instead of Thread.sleep)
+ * - Results are merged in query order, so post ordering does not depend on
+ *   which response arrives first
+ * - Each query's latency is recorded as "api.latency.<query>" (MetricsRegistry)
+ * - fetchPages() asks each query for the page at its own startIndex (remote paging)
+ */
+public class CatalogSyncEngine {
+
+    private static final String TAG = "CatalogSyncEngine";
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+    private static final Counter REQUESTS = METRICS.counter("api.requests");
+    private static final Counter FAILED_REQUESTS = METRICS.counter("api.requests.failed");
+
+    private final ApiService apiService;
+    private final ExecutorService executor;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final int maxResultsPerQuery;
+
+    public CatalogSyncEngine(ApiService apiService,
+                             ExecutorService executor,
+                             TokenBucketRateLimiter rateLimiter,
+                             int maxResultsPerQuery) {
+        this.apiService = apiService;
+        this.executor = executor;
+        this.rateLimiter = rateLimiter;
+        this.maxResultsPerQuery = maxResultsPerQuery;
+    }
+
+    /**
+     * Fetch all queries and return their books (as posts) merged in query order
+     * A failing query is logged and skipped, like the old sequential loop did
+     */
+    public List<Post> fetchAll(List<String> queries) throws InterruptedException {
+        Map<String, Integer> firstPages = new LinkedHashMap<>();
+        for (String query : queries) {
+            firstPages.put(query, 0);
+        }
+        List<Post> merged = new ArrayList<>();
+        for (BookPage page : fetchPages(firstPages).values()) {
+            merged.addAll(page.getPosts());
+        }
+        return merged;
+    }
+
+    /**
+     * Fetch one page per query, starting at the given startIndex
+     * @return the pages by query, in the order of startIndexByQuery; failing queries
+     *         are logged and left out
+     */
+    public Map<String, BookPage> fetchPages(Map<String, Integer> startIndexByQuery)
+            throws InterruptedException {
+        List<String> queries = new ArrayList<>(startIndexByQuery.keySet());
+        List<Future<BookPage>> futures = new ArrayList<>(queries.size());
+        for (String query : queries) {
+            int startIndex = startIndexByQuery.get(query);
+            futures.add(executor.submit(() -> fetchPage(query, startIndex)));
+        }
+
+        Map<String, BookPage> pages = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    pages.put(queries.get(i), futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Log.w(TAG, "Error fetching books for query: " + queries.get(i), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            // Caller gave up - don't leave queries running in the background
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        }
+        return pages;
+    }
+
+    // Results asked for per request (the size of a full page)
+    public int getMaxResultsPerQuery() {
+        return maxResultsPerQuery;
+    }
+
+    private BookPage fetchPage(String query, int startIndex) throws Exception {
+        rateLimiter.acquire();
+
+        // From sending the request until the body is parsed (rate limit wait excluded)
+        long start = System.nanoTime();
+        REQUESTS.increment();
+        Response<BookPage> response;
+        try {
+            response = apiService
+                    .searchBookPosts(query, startIndex, maxResultsPerQuery)
+                    .execute();
+        } catch (Exception e) {
+            FAILED_REQUESTS.increment();
+            throw e;
+        }
+        METRICS.timer("api.latency." + query).recordNanosSince(start);
+
+        if (!response.isSuccessful() || response.body() == null) {
+            FAILED_REQUESTS.increment();
+            throw new IllegalStateException("HTTP " + response.code() + " for query: " + query);
+        }
+
+        return response.body();
+    }
+}
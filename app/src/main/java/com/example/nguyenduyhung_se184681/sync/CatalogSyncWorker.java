@@ -0,0 +1,104 @@
+package com.example.nguyenduyhung_se184681.sync;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.nguyenduyhung_se184681.repository.PostRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic background catalog sync (WorkManager)
+ * - runs only on an unmetered network while the battery is not low
+ * - backs off while the device is thermally throttled (API 29+)
+ * - failed syncs are retried with exponential backoff, then wait for the next period
+ * The app reads from Room at launch; this worker keeps Room fresh
+ */
+public class CatalogSyncWorker extends Worker {
+
+    private static final String TAG = "CatalogSyncWorker";
+
+    public static final String UNIQUE_WORK_NAME = "catalog_sync";
+    public static final long SYNC_INTERVAL_HOURS = 6;
+    static final long BACKOFF_MINUTES = 15;
+    // Attempts per period before giving up until the next one
+    static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * Fetches the catalog and saves it, on the calling thread
+     */
+    public interface CatalogSource {
+        void sync() throws Exception;
+    }
+
+    private final CatalogSource catalogSource;
+
+    // Used by WorkManager
+    public CatalogSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        this(context, params,
+                () -> PostRepository.getInstance((Application) context.getApplicationContext()).syncFromApi());
+    }
+
+    public CatalogSyncWorker(@NonNull Context context, @NonNull WorkerParameters params,
+                             @NonNull CatalogSource catalogSource) {
+        super(context, params);
+        this.catalogSource = catalogSource;
+    }
+
+    // Keep one periodic sync scheduled; an existing schedule is left as it is
+    public static void schedule(Context context) {
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                UNIQUE_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, buildRequest());
+    }
+
+    static PeriodicWorkRequest buildRequest() {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+        return new PeriodicWorkRequest.Builder(CatalogSyncWorker.class, SYNC_INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_MINUTES, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        if (isThermallyThrottled(getApplicationContext())) {
+            Log.d(TAG, "Device is hot, postponing catalog sync");
+            return Result.retry();
+        }
+
+        try {
+            catalogSource.sync();
+            return Result.success();
+        } catch (Exception e) {
+            Log.w(TAG, "Catalog sync failed (attempt " + (getRunAttemptCount() + 1) + ")", e);
+            return getRunAttemptCount() + 1 < MAX_ATTEMPTS ? Result.retry() : Result.failure();
+        }
+    }
+
+    // Moderate throttling or worse: the system is already cutting performance
+    static boolean isThermallyThrottled(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return false;
+        }
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager != null
+                && powerManager.getCurrentThermalStatus() >= PowerManager.THERMAL_STATUS_MODERATE;
+    }
+}
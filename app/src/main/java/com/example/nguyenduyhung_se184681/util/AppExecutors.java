@@ -0,0 +1,86 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Application-wide background threads, one lane per kind of work
+ * - dbRead: reads the user is waiting for (lookups, filter queries); normal priority
+ * - dbWrite: user writes (favorites); one thread, so writes run in order
+ * - sync: catalog sync and its API requests; background priority, so it never
+ *   competes equally with the reads above
+ * Lanes have bounded queues and keep metrics (see LaneExecutor); their threads
+ * exit when idle, so nothing lingers after the screens that used them are gone;
+ * each lane's queue depth is also a gauge in MetricsRegistry ("lane.<name>.queued")
+ */
+public final class AppExecutors {
+
+    private static final int DB_READ_THREADS = 2;
+    private static final int DB_READ_QUEUE = 128;
+    private static final int DB_WRITE_QUEUE = 128;
+    // One sync coordinator plus up to five concurrent API requests
+    private static final int SYNC_THREADS = 6;
+    private static final int SYNC_QUEUE = 32;
+
+    private static volatile AppExecutors instance;
+
+    private final LaneExecutor dbRead;
+    private final LaneExecutor dbWrite;
+    private final LaneExecutor sync;
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        dbRead = new LaneExecutor("db-read", DB_READ_THREADS, DB_READ_QUEUE,
+                () -> Process.setThreadPriority(Process.THREAD_PRIORITY_DEFAULT));
+        dbWrite = new LaneExecutor("db-write", 1, DB_WRITE_QUEUE,
+                () -> Process.setThreadPriority(Process.THREAD_PRIORITY_DEFAULT));
+        sync = new LaneExecutor("sync", SYNC_THREADS, SYNC_QUEUE,
+                () -> Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND));
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        mainThread = mainHandler::post;
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        for (LaneExecutor lane : new LaneExecutor[] {dbRead, dbWrite, sync}) {
+            metrics.gauge("lane." + lane.getName() + ".queued", lane::getQueueDepth);
+            metrics.gauge("lane." + lane.getName() + ".rejected", lane::getRejectedCount);
+        }
+    }
+
+    public static AppExecutors getInstance() {
+        if (instance == null) {
+            synchronized (AppExecutors.class) {
+                if (instance == null) {
+                    instance = new AppExecutors();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public LaneExecutor dbRead() {
+        return dbRead;
+    }
+
+    public LaneExecutor dbWrite() {
+        return dbWrite;
+    }
+
+    public LaneExecutor sync() {
+        return sync;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    // Queue depth and latency of every lane, for logging
+    @Override
+    public String toString() {
+        return "AppExecutors{" + dbRead + ", " + dbWrite + ", " + sync + "}";
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Okapi BM25 score computed from an FTS4 matchinfo('pcnalx') blob
+ * FTS4 has no built-in ranking function, so SQLite returns the statistics and
+ * we score in Java. Each FTS column gets its own weight (e.g. title over body).
+ */
+public final class Bm25Ranker {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final double[] columnWeights;
+
+    /**
+     * @param columnWeights Weight per FTS column, in table column order
+     */
+    public Bm25Ranker(double... columnWeights) {
+        this.columnWeights = columnWeights;
+    }
+
+    /**
+     * Layout of 'pcnalx' (32-bit unsigned ints, native byte order):
+     * p, c, n, a[c], l[c], then for each phrase and column: x = (hits in row, hits in all rows, rows with hits)
+     */
+    public double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 12) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+        long rowCount = buffer.getInt(8) & 0xffffffffL;
+
+        int avgLengthOffset = 3;
+        int rowLengthOffset = avgLengthOffset + columnCount;
+        int hitsOffset = rowLengthOffset + columnCount;
+
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                double weight = column < columnWeights.length ? columnWeights[column] : 1.0;
+                if (weight == 0) continue;
+
+                int base = hitsOffset + 3 * (phrase * columnCount + column);
+                double termFrequency = intAt(buffer, base);
+                if (termFrequency == 0) continue;
+                double docsWithHit = intAt(buffer, base + 2);
+
+                double avgLength = Math.max(1, intAt(buffer, avgLengthOffset + column));
+                double rowLength = intAt(buffer, rowLengthOffset + column);
+
+                // Floor the IDF so very common terms still count a little
+                double idf = Math.max(0.01,
+                        Math.log((rowCount - docsWithHit + 0.5) / (docsWithHit + 0.5)));
+                double saturation = (termFrequency * (K1 + 1))
+                        / (termFrequency + K1 * (1 - B + B * rowLength / avgLength));
+                score += weight * idf * saturation;
+            }
+        }
+        return score;
+    }
+
+    private static long intAt(ByteBuffer buffer, int index) {
+        return buffer.getInt(index * 4) & 0xffffffffL;
+    }
+}
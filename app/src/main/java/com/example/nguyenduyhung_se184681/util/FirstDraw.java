@@ -0,0 +1,29 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Runs work on the main thread right after a window has drawn its next frame
+ * Used at startup for work the first frame does not need
+ */
+public final class FirstDraw {
+
+    private FirstDraw() {
+    }
+
+    public static void runAfter(View view, Runnable action) {
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                // Posted, so it runs once this frame is drawn rather than before it
+                mainHandler.post(action);
+                return true;
+            }
+        });
+    }
+}
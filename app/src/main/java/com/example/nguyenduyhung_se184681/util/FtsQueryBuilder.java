@@ -0,0 +1,45 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import java.util.Locale;
+
+/**
+ * Turns user input into an FTS4 MATCH expression
+ * Every word becomes a prefix token ("andr jav" -> "andr* jav*"), and all words must match.
+ * Quotes, "-" and other operator characters are treated as separators, and since
+ * everything is lower-cased, words like "or" / "and" never act as FTS operators.
+ */
+public final class FtsQueryBuilder {
+
+    private FtsQueryBuilder() {
+    }
+
+    /**
+     * @return the MATCH expression, or null if the input has no searchable words
+     */
+    public static String build(String userQuery) {
+        if (userQuery == null) {
+            return null;
+        }
+
+        StringBuilder match = new StringBuilder();
+        StringBuilder token = new StringBuilder();
+        String lower = userQuery.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                appendPrefixToken(match, token);
+                token.setLength(0);
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    private static void appendPrefixToken(StringBuilder match, CharSequence token) {
+        if (match.length() > 0) {
+            match.append(' ');
+        }
+        match.append(token).append('*');
+    }
+}
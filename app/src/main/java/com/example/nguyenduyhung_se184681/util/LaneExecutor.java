@@ -0,0 +1,144 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One lane of the app-wide executors (see AppExecutors)
+ * - fixed number of named threads ("name-1", "name-2", ...), which exit when idle
+ * - bounded queue; a full queue rejects the task (RejectedExecutionException)
+ *   instead of growing without limit
+ * - counts submitted / completed / rejected tasks, queue depth (current and
+ *   peak), time spent waiting in the queue and time spent running
+ * Plain Java (no Android classes) so it can run in JVM tests and benchmarks;
+ * thread priority is applied by the threadInit hook
+ */
+public final class LaneExecutor extends ThreadPoolExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final String name;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong runNanos = new AtomicLong();
+
+    /**
+     * @param threadInit run first on every new thread of the lane (may be null)
+     */
+    public LaneExecutor(String name, int threads, int queueCapacity, Runnable threadInit) {
+        super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads(name, threadInit));
+        this.name = name;
+        allowCoreThreadTimeOut(true);
+        setRejectedExecutionHandler((task, executor) -> {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException(
+                    "Lane " + name + " is full (" + getQueue().size() + " queued)");
+        });
+    }
+
+    private static ThreadFactory namedThreads(String name, Runnable threadInit) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(() -> {
+                if (threadInit != null) {
+                    threadInit.run();
+                }
+                task.run();
+            }, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // submit() ends up here too, so every task is timed
+    @Override
+    public void execute(Runnable command) {
+        submitted.incrementAndGet();
+        super.execute(new TimedTask(command, System.nanoTime()));
+        int depth = getQueue().size();
+        peakQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long enqueuedAt;
+
+        TimedTask(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            long waited = start - enqueuedAt;
+            queueWaitNanos.addAndGet(waited);
+            maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+            try {
+                task.run();
+            } finally {
+                runNanos.addAndGet(System.nanoTime() - start);
+                completed.incrementAndGet();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    public double getAverageQueueWaitMillis() {
+        long count = completed.get();
+        return count > 0 ? queueWaitNanos.get() / 1e6 / count : 0;
+    }
+
+    public double getMaxQueueWaitMillis() {
+        return maxQueueWaitNanos.get() / 1e6;
+    }
+
+    public double getAverageRunMillis() {
+        long count = completed.get();
+        return count > 0 ? runNanos.get() / 1e6 / count : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "LaneExecutor{%s, submitted=%d, completed=%d, rejected=%d, queued=%d, peakQueued=%d,"
+                        + " avgWaitMs=%.2f, maxWaitMs=%.2f, avgRunMs=%.2f}",
+                name, getSubmittedCount(), getCompletedCount(), getRejectedCount(), getQueueDepth(),
+                getPeakQueueDepth(), getAverageQueueWaitMillis(), getMaxQueueWaitMillis(),
+                getAverageRunMillis());
+    }
+}
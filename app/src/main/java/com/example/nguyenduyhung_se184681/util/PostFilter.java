@@ -0,0 +1,171 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable filter state of the post list (search, categories, sort, favorites-only)
+ * plus the in-memory filtering/sorting it describes.
+ * Plain Java (no Android classes) so it can run off the main thread, in tests and benchmarks
+ */
+public final class PostFilter {
+
+    public static final String SORT_NEWEST = "newest";
+    public static final String SORT_OLDEST = "oldest";
+    public static final String SORT_TITLE = "title";
+
+    public static final PostFilter DEFAULT =
+            new PostFilter("", Collections.<String>emptySet(), SORT_NEWEST, false);
+
+    private static final Comparator<Post> BY_POSITION_DESC =
+            (p1, p2) -> Integer.compare(p2.getPosition(), p1.getPosition());
+    private static final Comparator<Post> BY_POSITION_ASC =
+            (p1, p2) -> Integer.compare(p1.getPosition(), p2.getPosition());
+    private static final Comparator<Post> BY_TITLE = (p1, p2) -> {
+        String title1 = p1.getTitle() != null ? p1.getTitle() : "";
+        String title2 = p2.getTitle() != null ? p2.getTitle() : "";
+        return title1.compareToIgnoreCase(title2);
+    };
+
+    private final String searchQuery;
+    private final Set<String> categories;
+    private final String sortOrder;
+    private final boolean favoritesOnly;
+
+    public PostFilter(String searchQuery, Set<String> categories, String sortOrder, boolean favoritesOnly) {
+        this.searchQuery = searchQuery != null ? searchQuery.trim() : "";
+        this.categories = Collections.unmodifiableSet(new HashSet<>(categories));
+        this.sortOrder = sortOrder != null ? sortOrder : SORT_NEWEST;
+        this.favoritesOnly = favoritesOnly;
+    }
+
+    public String getSearchQuery() {
+        return searchQuery;
+    }
+
+    public Set<String> getCategories() {
+        return categories;
+    }
+
+    public String getSortOrder() {
+        return sortOrder;
+    }
+
+    public boolean isFavoritesOnly() {
+        return favoritesOnly;
+    }
+
+    // No search, no category and not favorites-only: the list can be paged straight from the database
+    public boolean isBrowseMode() {
+        return !favoritesOnly && categories.isEmpty() && searchQuery.isEmpty();
+    }
+
+    public PostFilter withSearchQuery(String query) {
+        return new PostFilter(query, categories, sortOrder, favoritesOnly);
+    }
+
+    public PostFilter withCategories(Set<String> newCategories) {
+        return new PostFilter(searchQuery, newCategories, sortOrder, favoritesOnly);
+    }
+
+    public PostFilter withSortOrder(String newSortOrder) {
+        return new PostFilter(searchQuery, categories, newSortOrder, favoritesOnly);
+    }
+
+    public PostFilter withFavoritesOnly(boolean newFavoritesOnly) {
+        return new PostFilter(searchQuery, categories, sortOrder, newFavoritesOnly);
+    }
+
+    /**
+     * Filter by category and title (case-insensitive contains), then sort
+     * The input list is not modified
+     */
+    public List<Post> apply(List<Post> posts) {
+        return apply(posts, null);
+    }
+
+    /**
+     * Same as apply(posts), with title matches looked up in the n-gram index
+     * instead of lowercasing and scanning every title (index may be null)
+     */
+    public List<Post> apply(List<Post> posts, TitleNgramIndex titleIndex) {
+        Set<String> titleMatches = !searchQuery.isEmpty() && titleIndex != null
+                ? titleIndex.search(searchQuery) : null;
+        String query = searchQuery.toLowerCase(Locale.ROOT);
+        List<Post> result = new ArrayList<>();
+        for (Post post : posts) {
+            if (!categories.isEmpty() && !categories.contains(post.getCategory())) continue;
+            if (!query.isEmpty() && !matchesTitle(post, query, titleMatches)) continue;
+            result.add(post);
+        }
+        Collections.sort(result, comparator());
+        return result;
+    }
+
+    /**
+     * Posts whose title contains the query, in their original order
+     * Matches on each post's precomputed titleKey, so a short list (e.g. the
+     * favorites) costs one contains() per post and never touches the catalog index
+     */
+    public static List<Post> filterByTitle(List<Post> posts, String searchQuery) {
+        String trimmed = searchQuery != null ? searchQuery.trim() : "";
+        if (trimmed.isEmpty()) return new ArrayList<>(posts);
+
+        String query = trimmed.toLowerCase(Locale.ROOT);
+        List<Post> result = new ArrayList<>();
+        for (Post post : posts) {
+            if (matchesTitle(post, query, null)) {
+                result.add(post);
+            }
+        }
+        return result;
+    }
+
+    // Index lookup when available, else contains on the lowercased title
+    private static boolean matchesTitle(Post post, String lowerQuery, Set<String> titleMatches) {
+        if (titleMatches != null) {
+            return titleMatches.contains(post.getId());
+        }
+        String titleKey = post.getTitleKey() != null ? post.getTitleKey() : Post.toTitleKey(post.getTitle());
+        return titleKey.contains(lowerQuery);
+    }
+
+    private Comparator<Post> comparator() {
+        switch (sortOrder) {
+            case SORT_OLDEST:
+                return BY_POSITION_ASC;
+            case SORT_TITLE:
+                return BY_TITLE;
+            case SORT_NEWEST:
+            default:
+                return BY_POSITION_DESC;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PostFilter)) return false;
+        PostFilter other = (PostFilter) o;
+        return favoritesOnly == other.favoritesOnly
+                && searchQuery.equals(other.searchQuery)
+                && categories.equals(other.categories)
+                && sortOrder.equals(other.sortOrder);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = searchQuery.hashCode();
+        result = 31 * result + categories.hashCode();
+        result = 31 * result + sortOrder.hashCode();
+        result = 31 * result + (favoritesOnly ? 1 : 0);
+        return result;
+    }
+}
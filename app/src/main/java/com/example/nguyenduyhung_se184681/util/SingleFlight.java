@@ -0,0 +1,113 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a task at most once at a time, sharing each run between its callers
+ * - a request while idle starts a run
+ * - a request during a run joins it and gets the same result
+ * - a request during a run may instead ask for a follow-up run (e.g. the user
+ *   pulled to refresh after the running sync had already fetched its data);
+ *   all such requests share one follow-up, started when the current run ends
+ * Plain Java (no Android classes) so it can run in JVM tests and benchmarks
+ */
+public final class SingleFlight {
+
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private final Executor executor;
+    private final Task task;
+
+    // Guarded by this
+    private CompletableFuture<Void> running;
+    private CompletableFuture<Void> followUp;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+
+    public SingleFlight(Executor executor, Task task) {
+        this.executor = executor;
+        this.task = task;
+    }
+
+    /**
+     * @param needsFollowUp if a run is already going, wait for a fresh run after it
+     *                      instead of joining it
+     * @return completes when the run this request is attached to has finished
+     */
+    public CompletableFuture<Void> request(boolean needsFollowUp) {
+        CompletableFuture<Void> toStart;
+        synchronized (this) {
+            if (running == null) {
+                running = new CompletableFuture<>();
+                toStart = running;
+            } else if (needsFollowUp) {
+                if (followUp == null) {
+                    followUp = new CompletableFuture<>();
+                } else {
+                    joined.incrementAndGet();
+                }
+                return followUp;
+            } else {
+                joined.incrementAndGet();
+                return running;
+            }
+        }
+        start(toStart);
+        return toStart;
+    }
+
+    public synchronized boolean isRunning() {
+        return running != null;
+    }
+
+    // Runs actually started
+    public long getRunCount() {
+        return runs.get();
+    }
+
+    // Requests that attached to a run started by someone else
+    public long getJoinedCount() {
+        return joined.get();
+    }
+
+    private void start(CompletableFuture<Void> result) {
+        runs.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                Exception error = null;
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    error = e;
+                }
+                finish(result, error);
+            });
+        } catch (RuntimeException e) {
+            // Executor refused the run (e.g. full or shut down)
+            finish(result, e);
+        }
+    }
+
+    private void finish(CompletableFuture<Void> result, Exception error) {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = followUp;
+            followUp = null;
+            running = next;
+        }
+        // Completed outside the lock; a caller reacting to it may request again
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(null);
+        }
+        if (next != null) {
+            start(next);
+        }
+    }
+}
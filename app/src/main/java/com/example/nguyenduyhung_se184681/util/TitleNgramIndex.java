@@ -0,0 +1,366 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over post titles for substring search
+ * - Every 3-character window of a lowercased title maps to the sorted list of
+ *   documents containing it
+ * - A query is answered by intersecting the lists of its trigrams (shortest
+ *   first) and confirming the few survivors with contains()
+ * - Queries shorter than 3 characters fall back to scanning the stored
+ *   lowercased titles
+ * - put()/remove() update only the lists of the affected title, no rebuild
+ * - writeTo()/readFrom() keep a snapshot on disk (read back through a
+ *   memory-mapped file) so the index is ready at cold start
+ * Matches the same titles as PostFilter's lowercase contains() check.
+ * Thread safe: searches share a read lock, updates take the write lock.
+ * Plain Java (no Android classes) so it can run in JVM tests and benchmarks
+ */
+public final class TitleNgramIndex {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private static final int MAGIC = 0x54495831; // "TIX1"
+    private static final int FORMAT_VERSION = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documents are slots; removed slots are reused by later inserts
+    private final Map<String, Integer> docByPostId = new HashMap<>();
+    private final List<String> postIds = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private final IntList freeDocs = new IntList();
+    private final Map<Long, IntList> postings = new HashMap<>();
+
+    // Insert a post, or re-index it when its title changed
+    public void put(String postId, String title) {
+        String normalized = normalize(title);
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByPostId.get(postId);
+            if (doc != null) {
+                String old = titles.get(doc);
+                if (old.equals(normalized)) return;
+                unindex(doc, old);
+                titles.set(doc, normalized);
+            } else {
+                if (freeDocs.size() > 0) {
+                    doc = freeDocs.removeLast();
+                    postIds.set(doc, postId);
+                    titles.set(doc, normalized);
+                } else {
+                    doc = postIds.size();
+                    postIds.add(postId);
+                    titles.add(normalized);
+                }
+                docByPostId.put(postId, doc);
+            }
+            index(doc, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String postId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByPostId.remove(postId);
+            if (doc == null) return;
+            unindex(doc, titles.get(doc));
+            postIds.set(doc, null);
+            titles.set(doc, null);
+            freeDocs.add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByPostId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of the posts whose title contains the query (case-insensitive)
+     * An empty query matches every post
+     */
+    public Set<String> search(String query) {
+        String normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < GRAM_LENGTH) {
+                return scan(normalized);
+            }
+
+            long[] grams = grams(normalized);
+            IntList[] lists = new IntList[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) return new HashSet<>();
+            }
+            // Start from the rarest trigram so intermediate results stay small
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+            int[] candidates = Arrays.copyOf(lists[0].values, lists[0].size());
+            int count = candidates.length;
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = intersect(candidates, count, lists[i]);
+            }
+
+            // Trigrams can match out of order, so longer queries are confirmed
+            boolean verify = normalized.length() > GRAM_LENGTH;
+            Set<String> result = new HashSet<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                int doc = candidates[i];
+                if (!verify || titles.get(doc).contains(normalized)) {
+                    result.add(postIds.get(doc));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<String> scan(String normalized) {
+        Set<String> result = new HashSet<>();
+        for (int doc = 0; doc < titles.size(); doc++) {
+            String title = titles.get(doc);
+            if (title != null && title.contains(normalized)) {
+                result.add(postIds.get(doc));
+            }
+        }
+        return result;
+    }
+
+    private void index(int doc, String title) {
+        for (long gram : grams(title)) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                list = new IntList();
+                postings.put(gram, list);
+            }
+            list.addSorted(doc);
+        }
+    }
+
+    private void unindex(int doc, String title) {
+        for (long gram : grams(title)) {
+            IntList list = postings.get(gram);
+            if (list != null) {
+                list.removeSorted(doc);
+                if (list.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // Keep the values of candidates[0..count) that are also in list; both are sorted
+    private static int intersect(int[] candidates, int count, IntList list) {
+        int kept = 0;
+        int j = 0;
+        int[] values = list.values;
+        int size = list.size();
+        for (int i = 0; i < count && j < size; i++) {
+            int doc = candidates[i];
+            while (j < size && values[j] < doc) j++;
+            if (j < size && values[j] == doc) {
+                candidates[kept++] = doc;
+            }
+        }
+        return kept;
+    }
+
+    // Each trigram packed into a long: three 16-bit chars
+    private static long[] grams(String text) {
+        int n = text.length() - GRAM_LENGTH + 1;
+        if (n <= 0) return new long[0];
+        long[] grams = new long[n];
+        for (int i = 0; i < n; i++) {
+            grams[i] = ((long) text.charAt(i) << 32)
+                    | ((long) text.charAt(i + 1) << 16)
+                    | text.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text != null ? text.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Save a snapshot of the index
+     * Written to a temp file first, so a crash never leaves a half-written snapshot
+     */
+    public void writeTo(File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temp), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(GRAM_LENGTH);
+
+            out.writeInt(postIds.size());
+            for (int doc = 0; doc < postIds.size(); doc++) {
+                writeString(out, postIds.get(doc));
+                writeString(out, titles.get(doc));
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<Long, IntList> entry : postings.entrySet()) {
+                IntList list = entry.getValue();
+                out.writeLong(entry.getKey());
+                out.writeInt(list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    out.writeInt(list.values[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    /**
+     * Load a snapshot written by writeTo()
+     * Posting lists are copied straight from the mapped file, nothing is re-tokenized
+     */
+    public static TitleNgramIndex readFrom(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC
+                    || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getInt() != GRAM_LENGTH) {
+                throw new IOException("Not a title index snapshot: " + file);
+            }
+
+            TitleNgramIndex index = new TitleNgramIndex();
+            int docCount = buffer.getInt();
+            for (int doc = 0; doc < docCount; doc++) {
+                String postId = readString(buffer);
+                String title = readString(buffer);
+                index.postIds.add(postId);
+                index.titles.add(title);
+                if (postId != null) {
+                    index.docByPostId.put(postId, doc);
+                } else {
+                    index.freeDocs.add(doc);
+                }
+            }
+
+            int gramCount = buffer.getInt();
+            for (int i = 0; i < gramCount; i++) {
+                long gram = buffer.getLong();
+                int size = buffer.getInt();
+                IntList list = new IntList(size);
+                buffer.asIntBuffer().get(list.values, 0, size);
+                buffer.position(buffer.position() + size * 4);
+                list.size = size;
+                index.postings.put(gram, list);
+            }
+            return index;
+        } catch (RuntimeException e) {
+            // Truncated or corrupt file (BufferUnderflowException, ...)
+            throw new IOException("Corrupt title index snapshot: " + file, e);
+        }
+    }
+
+    // Length-prefixed UTF-8, -1 for null (removed slot)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Growable int array; posting lists are kept sorted
+     */
+    private static final class IntList {
+        int[] values;
+        int size;
+
+        IntList() {
+            this(4);
+        }
+
+        IntList(int capacity) {
+            values = new int[Math.max(capacity, 1)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(int value) {
+            ensureCapacity(size + 1);
+            values[size++] = value;
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+
+        void addSorted(int value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) return;
+            at = -at - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+        }
+
+        void removeSorted(int value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at < 0) return;
+            System.arraycopy(values, at + 1, values, at, size - at - 1);
+            size--;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+            }
+        }
+    }
+}
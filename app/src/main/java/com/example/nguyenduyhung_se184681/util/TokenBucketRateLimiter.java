@@ -0,0 +1,65 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter shared by all sync requests
+ * Allows a burst of up to "capacity" calls, then refills at a fixed rate
+ * Replaces the fixed sleep that used to sit between API calls
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param capacity Maximum number of requests that may start back-to-back
+     * @param permitsPerSecond Sustained request rate once the burst is used up
+     */
+    public TokenBucketRateLimiter(int capacity, double permitsPerSecond) {
+        if (capacity <= 0 || permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and permitsPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.availableTokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Block until a token is available, then consume it
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos = tryReserve();
+            if (waitNanos == 0) {
+                return;
+            }
+            // Sleep outside the lock so other callers can keep refilling/consuming
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Consume a token without blocking
+     * @return true if a token was available
+     */
+    public boolean tryAcquire() {
+        return tryReserve() == 0;
+    }
+
+    // Returns 0 if a token was consumed, otherwise the nanos until one becomes available
+    private synchronized long tryReserve() {
+        long now = System.nanoTime();
+        availableTokens = Math.min(capacity, availableTokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+
+        if (availableTokens >= 1) {
+            availableTokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - availableTokens) / tokensPerNano));
+    }
+}
@@ -1,29 +1,239 @@
 package com.example.nguyenduyhung_se184681.viewmodel;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.SavedStateHandle;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.example.nguyenduyhung_se184681.model.Post;
 import com.example.nguyenduyhung_se184681.repository.PostRepository;
+import com.example.nguyenduyhung_se184681.util.AppExecutors;
+import com.example.nguyenduyhung_se184681.util.PostFilter;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * ViewModel for managing Post data
  * Survives configuration changes
+ * Owns the list filter state (search, categories, sort, favorites-only):
+ * - typing is debounced, other filter changes apply right away
+ * - each filter is compiled into one SQL query (PostQueryBuilder) on the shared
+ *   db-read lane (AppExecutors); a newer change drops older runs
+ * - finished lists are published through getFilteredPosts()
+ * - the filter is kept in SavedStateHandle so it also survives process death
  */
 public class PostViewModel extends AndroidViewModel {
 
+    // Paging: rows per page, how far ahead to load, and how many rows to keep in memory at most
+    public static final int PAGE_SIZE = 20;
+    public static final int PREFETCH_DISTANCE = 20;
+    public static final int MAX_CACHED_ROWS = 200;
+
+    // Wait this long after the last keystroke before filtering
+    public static final long SEARCH_DEBOUNCE_MS = 300;
+
+    private static final String KEY_SEARCH_QUERY = "filter_search_query";
+    private static final String KEY_CATEGORIES = "filter_categories";
+    private static final String KEY_SORT_ORDER = "filter_sort_order";
+    private static final String KEY_FAVORITES_ONLY = "filter_favorites_only";
+
     private final PostRepository repository;
+    private final SavedStateHandle savedState;
     private final LiveData<List<Post>> allPosts;
+    private final Map<String, LiveData<PagingData<Post>>> pagedPostsBySort = new HashMap<>();
+    private PagingConfig pagingConfig = buildPagingConfig(PAGE_SIZE, PREFETCH_DISTANCE);
+
+    // Filter pipeline (state is only touched on the main thread)
+    private final MutableLiveData<PostFilter> filter;
+    private final MediatorLiveData<FilterResult> filteredPosts = new MediatorLiveData<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable startFilterRunnable = this::startFilter;
+    private LiveData<List<Post>> filterSource;
+    private boolean debouncePending;
+    // Bumped on every change; results of older runs are dropped
+    private int filterGeneration;
 
-    public PostViewModel(@NonNull Application application) {
+    public PostViewModel(@NonNull Application application, @NonNull SavedStateHandle savedState) {
         super(application);
-        repository = new PostRepository(application);
+        this.savedState = savedState;
+        repository = PostRepository.getInstance(application);
         allPosts = repository.getAllPosts();
+        filter = new MutableLiveData<>(restoreFilter(savedState));
+        scheduleFilter(0);
+
+        // Search queries use the title index; rebuild them when it loads or changes
+        filteredPosts.addSource(repository.getTitleIndexUpdates(), index -> {
+            PostFilter current = getCurrentFilter();
+            if (!current.isBrowseMode() && !current.getSearchQuery().isEmpty() && !debouncePending) {
+                scheduleFilter(0);
+            }
+        });
+    }
+
+    /**
+     * Result of one filter run: the filter it was computed for and the matching posts
+     */
+    public static final class FilterResult {
+        private final PostFilter filter;
+        private final List<Post> posts;
+
+        FilterResult(PostFilter filter, List<Post> posts) {
+            this.filter = filter;
+            this.posts = posts;
+        }
+
+        public PostFilter getFilter() {
+            return filter;
+        }
+
+        public List<Post> getPosts() {
+            return posts;
+        }
+    }
+
+    // Current filter state; emits on every change (before the filtered list is ready)
+    public LiveData<PostFilter> getFilter() {
+        return filter;
+    }
+
+    public PostFilter getCurrentFilter() {
+        return filter.getValue();
+    }
+
+    // Filtered and sorted posts for the current (non-browse) filter
+    public LiveData<FilterResult> getFilteredPosts() {
+        return filteredPosts;
+    }
+
+    // Search as the user types (debounced)
+    public void setSearchQuery(String query) {
+        updateFilter(getCurrentFilter().withSearchQuery(query), SEARCH_DEBOUNCE_MS);
+    }
+
+    // Search right away (e.g. on the keyboard search action)
+    public void submitSearchQuery(String query) {
+        PostFilter newFilter = getCurrentFilter().withSearchQuery(query);
+        if (newFilter.equals(getCurrentFilter())) {
+            // Skip whatever is left of the debounce delay
+            if (debouncePending) {
+                scheduleFilter(0);
+            }
+            return;
+        }
+        updateFilter(newFilter, 0);
+    }
+
+    public void setCategorySelected(String category, boolean selected) {
+        Set<String> categories = new HashSet<>(getCurrentFilter().getCategories());
+        boolean changed = selected ? categories.add(category) : categories.remove(category);
+        if (changed) {
+            updateFilter(getCurrentFilter().withCategories(categories), 0);
+        }
+    }
+
+    public void clearCategories() {
+        updateFilter(getCurrentFilter().withCategories(new HashSet<>()), 0);
+    }
+
+    public void setSortOrder(String sortOrder) {
+        updateFilter(getCurrentFilter().withSortOrder(sortOrder), 0);
+    }
+
+    public void setFavoritesOnly(boolean favoritesOnly) {
+        updateFilter(getCurrentFilter().withFavoritesOnly(favoritesOnly), 0);
+    }
+
+    private void updateFilter(PostFilter newFilter, long delayMs) {
+        if (newFilter.equals(getCurrentFilter())) return;
+
+        filter.setValue(newFilter);
+        saveFilter(newFilter);
+        scheduleFilter(delayMs);
+    }
+
+    // Every call makes the runs started before it stale
+    private void scheduleFilter(long delayMs) {
+        filterGeneration++;
+        mainHandler.removeCallbacks(startFilterRunnable);
+        debouncePending = delayMs > 0;
+        if (debouncePending) {
+            mainHandler.postDelayed(startFilterRunnable, delayMs);
+        } else {
+            startFilter();
+        }
+    }
+
+    /**
+     * Build the query for the current filter off the main thread, then observe it
+     * Browse mode is paged from the database, so nothing is observed (or held) then
+     */
+    private void startFilter() {
+        debouncePending = false;
+        PostFilter current = getCurrentFilter();
+        if (current.isBrowseMode()) {
+            setFilterSource(null, current);
+            return;
+        }
+
+        int generation = filterGeneration;
+        AppExecutors.getInstance().dbRead().execute(() -> {
+            LiveData<List<Post>> source = repository.getFilteredPosts(current);
+            // Switch on the main thread, and only if nothing changed meanwhile
+            mainHandler.post(() -> {
+                if (generation == filterGeneration) {
+                    setFilterSource(source, current);
+                }
+            });
+        });
+    }
+
+    private void setFilterSource(LiveData<List<Post>> source, PostFilter sourceFilter) {
+        if (filterSource != null) {
+            filteredPosts.removeSource(filterSource);
+        }
+        filterSource = source;
+        if (source != null) {
+            filteredPosts.addSource(source, posts -> filteredPosts.setValue(
+                    new FilterResult(sourceFilter, posts != null ? posts : new ArrayList<>())));
+        }
+    }
+
+    private static PostFilter restoreFilter(SavedStateHandle state) {
+        ArrayList<String> categories = state.get(KEY_CATEGORIES);
+        Boolean favoritesOnly = state.get(KEY_FAVORITES_ONLY);
+        return new PostFilter(
+                state.get(KEY_SEARCH_QUERY),
+                categories != null ? new HashSet<>(categories) : new HashSet<>(),
+                state.get(KEY_SORT_ORDER),
+                favoritesOnly != null && favoritesOnly);
+    }
+
+    private void saveFilter(PostFilter current) {
+        savedState.set(KEY_SEARCH_QUERY, current.getSearchQuery());
+        savedState.set(KEY_CATEGORIES, new ArrayList<>(current.getCategories()));
+        savedState.set(KEY_SORT_ORDER, current.getSortOrder());
+        savedState.set(KEY_FAVORITES_ONLY, current.isFavoritesOnly());
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        mainHandler.removeCallbacksAndMessages(null);
     }
 
     // Get all posts
@@ -31,17 +241,54 @@ public class PostViewModel extends AndroidViewModel {
         return allPosts;
     }
 
+    // Get all posts page by page; the pages survive configuration changes
+    public LiveData<PagingData<Post>> getPagedPosts(String sortOrder) {
+        LiveData<PagingData<Post>> pagedPosts = pagedPostsBySort.get(sortOrder);
+        if (pagedPosts == null) {
+            pagedPosts = PagingLiveData.cachedIn(
+                    repository.getPagedPosts(sortOrder, pagingConfig),
+                    ViewModelKt.getViewModelScope(this));
+            pagedPostsBySort.put(sortOrder, pagedPosts);
+        }
+        return pagedPosts;
+    }
+
+    // Change page size / prefetch distance; applies to paged lists requested afterwards
+    public void setPagingConfig(int pageSize, int prefetchDistance) {
+        pagingConfig = buildPagingConfig(pageSize, prefetchDistance);
+        pagedPostsBySort.clear();
+    }
+
+    private static PagingConfig buildPagingConfig(int pageSize, int prefetchDistance) {
+        return new PagingConfig(
+                pageSize,
+                prefetchDistance,
+                false, // no placeholders
+                pageSize * 2, // initial load
+                Math.max(MAX_CACHED_ROWS, pageSize + prefetchDistance * 2));
+    }
+
     // Get post by ID
-    public LiveData<Post> getPostById(int postId) {
+    public LiveData<Post> getPostById(String postId) {
         return repository.getPostById(postId);
     }
 
+    // Keep a post in memory so DetailActivity can show it before the database answers
+    public void cachePost(Post post) {
+        repository.cachePost(post);
+    }
+
+    // Cached post, or null if it has to be loaded
+    public Post getCachedPost(String postId) {
+        return repository.getCachedPost(postId);
+    }
+
     // Get favorite posts
     public LiveData<List<Post>> getFavoritePosts() {
         return repository.getFavoritePosts();
     }
 
-    // Search posts
+    // Search posts (full-text, ranked)
     public LiveData<List<Post>> searchPosts(String query) {
         return repository.searchPosts(query);
     }
@@ -66,11 +313,26 @@ public class PostViewModel extends AndroidViewModel {
         repository.fetchPostsFromApi(callback);
     }
 
+    // Pull-to-refresh: also syncs again after a sync that is already running
+    public void refreshPostsFromApi(PostRepository.FetchCallback callback) {
+        repository.refreshPostsFromApi(callback);
+    }
+
+    // Fetch and store the next remote pages in the background (remote paging)
+    public void loadMoreFromApi(PostRepository.FetchCallback callback) {
+        repository.loadMoreFromApi(callback);
+    }
+
     // Toggle favorite
     public void toggleFavorite(Post post, PostRepository.FavoriteCallback callback) {
         repository.toggleFavorite(post, callback);
     }
 
+    // Favorite state to show, including toggles that are not written yet
+    public boolean isFavorite(Post post) {
+        return repository.isFavorite(post);
+    }
+
     // Check if database is empty
     public void isDatabaseEmpty(PostRepository.DatabaseCheckCallback callback) {
         repository.isDatabaseEmpty(callback);
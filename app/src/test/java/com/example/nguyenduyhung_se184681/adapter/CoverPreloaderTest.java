@@ -0,0 +1,29 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the cover preload look-ahead cap
+ */
+public class CoverPreloaderTest {
+
+    @Test
+    public void limitToMemoryCache_keepsRequestedCountWhenItFits() {
+        // 220px covers are ~95 KB each; a 32 MB cache easily holds 10
+        assertEquals(10, CoverPreloader.limitToMemoryCache(10, 32L * 1024 * 1024, 220));
+    }
+
+    @Test
+    public void limitToMemoryCache_capsToHalfTheCache() {
+        long cover = 220L * 220 * 2;
+        assertEquals(5, CoverPreloader.limitToMemoryCache(50, cover * 10, 220));
+    }
+
+    @Test
+    public void limitToMemoryCache_alwaysPreloadsAtLeastOneRow() {
+        assertEquals(1, CoverPreloader.limitToMemoryCache(10, 0, 220));
+        assertEquals(1, CoverPreloader.limitToMemoryCache(0, 32L * 1024 * 1024, 220));
+    }
+}
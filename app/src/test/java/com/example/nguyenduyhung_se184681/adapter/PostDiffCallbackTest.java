@@ -0,0 +1,153 @@
+package com.example.nguyenduyhung_se184681.adapter;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Counts the row updates PostDiffCallback produces for typical list changes
+ * (the same updates AsyncListDiffer dispatches to PostAdapter)
+ */
+public class PostDiffCallbackTest {
+
+    @Test
+    public void favoriteToggle_updatesOneRowWithPayloadOnly() {
+        List<Post> before = Arrays.asList(post("a", false), post("b", false), post("c", false));
+        List<Post> after = Arrays.asList(post("a", false), post("b", true), post("c", false));
+
+        UpdateCounter updates = diff(before, after);
+
+        assertEquals(1, updates.changed);
+        assertEquals(1, updates.favoritePayloads);
+        assertEquals(0, updates.inserted + updates.removed + updates.moved);
+    }
+
+    @Test
+    public void filterChange_onlyTouchesRowsThatLeaveOrMove() {
+        List<Post> before = Arrays.asList(post("a", false), post("b", false), post("c", false), post("d", false));
+        List<Post> after = Arrays.asList(post("c", false), post("a", false), post("d", false));
+
+        UpdateCounter updates = diff(before, after);
+
+        assertEquals(0, updates.changed);
+        assertEquals(1, updates.removed);
+        assertEquals(1, updates.moved);
+    }
+
+    @Test
+    public void contentChange_needsFullRebind() {
+        Post edited = post("a", true);
+        edited.setTitle("New title");
+
+        UpdateCounter updates = diff(
+                Arrays.asList(post("a", false)),
+                Arrays.asList(edited));
+
+        assertEquals(1, updates.changed);
+        assertEquals(0, updates.favoritePayloads);
+    }
+
+    @Test
+    public void unchangedList_dispatchesNothing() {
+        UpdateCounter updates = diff(
+                Arrays.asList(post("a", false), post("b", true)),
+                Arrays.asList(post("a", false), post("b", true)));
+
+        assertEquals(0, updates.total());
+    }
+
+    @Test
+    public void stableIds_areDerivedFromVolumeId() {
+        assertEquals(PostAdapter.stableIdOf("vol-1"), PostAdapter.stableIdOf("vol-1"));
+        assertNotEquals(PostAdapter.stableIdOf("vol-1"), PostAdapter.stableIdOf("vol-2"));
+    }
+
+    private static Post post(String id, boolean favorite) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Title " + id);
+        post.setBody("Body " + id);
+        post.setCategory("Programming");
+        post.setFavorite(favorite);
+        post.setContentHash(post.computeContentHash());
+        return post;
+    }
+
+    private static UpdateCounter diff(List<Post> oldList, List<Post> newList) {
+        PostDiffCallback itemCallback = new PostDiffCallback();
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldList.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newList.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areItemsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areContentsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+            }
+
+            @Nullable
+            @Override
+            public Object getChangePayload(int oldPosition, int newPosition) {
+                return itemCallback.getChangePayload(oldList.get(oldPosition), newList.get(newPosition));
+            }
+        });
+        UpdateCounter counter = new UpdateCounter();
+        result.dispatchUpdatesTo(counter);
+        return counter;
+    }
+
+    private static class UpdateCounter implements ListUpdateCallback {
+        int inserted;
+        int removed;
+        int moved;
+        int changed;
+        int favoritePayloads;
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            moved++;
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            changed += count;
+            if (payload == PostDiffCallback.PAYLOAD_FAVORITE) {
+                favoritePayloads += count;
+            }
+        }
+
+        int total() {
+            return inserted + removed + moved + changed;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the streaming Google Books parser
+ */
+public class BookStreamParserTest {
+
+    @Test
+    public void parse_mapsStoredFieldsAndSkipsTheRest() throws Exception {
+        String json = "{\"kind\":\"books#volumes\",\"totalItems\":42,\"items\":[{"
+                + "\"kind\":\"books#volume\",\"id\":\"vol-1\",\"etag\":\"x\","
+                + "\"volumeInfo\":{\"title\":\"Clean Code\",\"authors\":[\"Robert C. Martin\"],"
+                + "\"industryIdentifiers\":[{\"type\":\"ISBN_10\",\"identifier\":\"0132350882\"}],"
+                + "\"categories\":[\"Computers / Programming\",\"Ignored\"],"
+                + "\"imageLinks\":{\"smallThumbnail\":\"http://img/s\",\"thumbnail\":\"http://img/t\"}},"
+                + "\"saleInfo\":{\"country\":\"US\",\"isEbook\":false}}]}";
+
+        BookPage page = BookStreamParser.parse(new JsonReader(new StringReader(json)));
+
+        assertEquals(42, page.getTotalItems());
+        assertEquals(1, page.getPosts().size());
+        Post post = page.getPosts().get(0);
+        assertEquals("vol-1", post.getId());
+        assertEquals("Clean Code", post.getTitle());
+        assertEquals("A book about Clean Code by Robert C. Martin", post.getBody());
+        assertEquals("Programming", post.getCategory());
+        assertEquals("https://img/t", post.getImageUrl());
+    }
+
+    @Test
+    public void parse_fallsBackToSmallThumbnail() throws Exception {
+        String json = "{\"items\":[{\"id\":\"vol-1\",\"volumeInfo\":{\"title\":\"T\","
+                + "\"imageLinks\":{\"smallThumbnail\":\"http://img/s\"}}}]}";
+
+        Post post = BookStreamParser.parse(new JsonReader(new StringReader(json))).getPosts().get(0);
+
+        assertEquals("https://img/s", post.getImageUrl());
+    }
+
+    @Test
+    public void parse_truncatesLongDescriptions() throws Exception {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            description.append('a');
+        }
+        String json = "{\"items\":[{\"id\":\"vol-1\",\"volumeInfo\":{\"title\":\"T\","
+                + "\"description\":\"" + description + "\"}}]}";
+
+        Post post = BookStreamParser.parse(new JsonReader(new StringReader(json))).getPosts().get(0);
+
+        assertEquals(BookMapper.MAX_BODY_LENGTH, post.getBody().length());
+        assertTrue(post.getBody().endsWith("..."));
+    }
+
+    @Test
+    public void parse_dropsItemsWithoutTitleAndHandlesMissingItems() throws Exception {
+        String json = "{\"items\":[{\"id\":\"vol-1\",\"volumeInfo\":{\"authors\":null}},"
+                + "{\"id\":\"vol-2\"}]}";
+        assertTrue(BookStreamParser.parse(new JsonReader(new StringReader(json))).getPosts().isEmpty());
+
+        BookPage empty = BookStreamParser.parse(new JsonReader(new StringReader("{\"totalItems\":0}")));
+        assertEquals(0, empty.getTotalItems());
+        assertTrue(empty.getPosts().isEmpty());
+    }
+
+    @Test
+    public void assignPosition_movingAVolumeKeepsItsContentHash() {
+        Post post = BookMapper.toPost("vol-1", "Clean Code", "Description", null,
+                "Computers", "http://img/t");
+        BookMapper.assignPosition(post, 1);
+        String hash = post.getContentHash();
+
+        BookMapper.assignPosition(post, 2);
+
+        assertEquals(hash, post.getContentHash());
+        post.setTitle("Clean Code, 2nd Edition");
+        assertNotEquals(hash, post.computeContentHash());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for picking the cover variant that fits a view
+ */
+public class CoverVariantsTest {
+
+    private static final String THUMBNAIL = "https://books.google.com/books/content?id=abc"
+            + "&printsec=frontcover&img=1&zoom=1&edge=curl&source=gbs_api";
+
+    @Test
+    public void select_googleBooks_picksSmallestZoomThatCoversTheView() {
+        // 60x60 needs 60px of width: smallThumbnail
+        assertEquals(THUMBNAIL.replace("zoom=1", "zoom=5"), CoverVariants.select(THUMBNAIL, 60, 60));
+        // 80x180 needs 120px of width (height / 1.5): thumbnail
+        assertEquals(THUMBNAIL, CoverVariants.select(THUMBNAIL, 80, 180));
+        // 220x220 (80dp row on a 2.75x screen)
+        assertEquals(THUMBNAIL.replace("zoom=1", "zoom=2"), CoverVariants.select(THUMBNAIL, 220, 220));
+        // Wider than any variant: the largest one
+        assertEquals(THUMBNAIL.replace("zoom=1", "zoom=3"), CoverVariants.select(THUMBNAIL, 1080, 1600));
+    }
+
+    @Test
+    public void select_googleBooksWithoutZoom_addsIt() {
+        String url = "https://books.google.com/books/content?id=abc&printsec=frontcover";
+        assertEquals(url + "&zoom=5", CoverVariants.select(url, 50, 50));
+    }
+
+    @Test
+    public void select_placeholder_requestsExactCoveringSize() {
+        assertEquals("https://picsum.photos/220/330?random=vol-1",
+                CoverVariants.select("https://picsum.photos/400/600?random=vol-1", 220, 220));
+    }
+
+    @Test
+    public void select_unknownSizeOrHost_keepsUrl() {
+        assertEquals(THUMBNAIL, CoverVariants.select(THUMBNAIL, 0, 0));
+        assertEquals(THUMBNAIL, CoverVariants.select(THUMBNAIL, Integer.MIN_VALUE, Integer.MIN_VALUE));
+        assertEquals("https://img/t", CoverVariants.select("https://img/t", 100, 100));
+        assertNull(CoverVariants.select(null, 100, 100));
+    }
+}
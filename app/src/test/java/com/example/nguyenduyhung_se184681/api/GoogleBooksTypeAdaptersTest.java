@@ -0,0 +1,87 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.model.GoogleBooksResponse;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the hand-written Google Books adapters
+ * The reflective Gson result is the reference they must match
+ */
+public class GoogleBooksTypeAdaptersTest {
+
+    private static final String RESPONSE = "{\"kind\":\"books#volumes\",\"totalItems\":1412,\"items\":[{"
+            + "\"kind\":\"books#volume\",\"id\":\"vol-1\",\"etag\":\"x\","
+            + "\"volumeInfo\":{\"title\":\"Clean Code\",\"subtitle\":\"A Handbook\","
+            + "\"authors\":[\"Robert C. Martin\"],\"publisher\":\"Pearson\",\"publishedDate\":\"2008-08-01\","
+            + "\"description\":\"Even bad code can function.\","
+            + "\"industryIdentifiers\":[{\"type\":\"ISBN_10\",\"identifier\":\"0132350882\"}],"
+            + "\"readingModes\":{\"text\":true,\"image\":true},\"pageCount\":462,"
+            + "\"categories\":[\"Computers\"],\"averageRating\":4.5,\"ratingsCount\":27,"
+            + "\"imageLinks\":{\"smallThumbnail\":\"http://img/s\",\"thumbnail\":\"http://img/t\"}},"
+            + "\"saleInfo\":{\"country\":\"VN\",\"listPrice\":{\"amount\":740000}}},"
+            + "{\"id\":\"vol-2\",\"volumeInfo\":{\"title\":\"Effective Java\",\"authors\":null,"
+            + "\"pageCount\":\"375\",\"imageLinks\":null}},"
+            + "{\"id\":\"vol-3\"}]}";
+
+    private final Gson reflective = new Gson();
+
+    @Test
+    public void factory_isUsedBySharedGson() {
+        assertSame(GoogleBooksTypeAdapters.RESPONSE, ApiGson.get().getAdapter(GoogleBooksResponse.class));
+        assertSame(GoogleBooksTypeAdapters.VOLUME_INFO,
+                ApiGson.get().getAdapter(GoogleBooksResponse.VolumeInfo.class));
+    }
+
+    @Test
+    public void read_matchesReflectiveGson() {
+        GoogleBooksResponse expected = reflective.fromJson(RESPONSE, GoogleBooksResponse.class);
+        GoogleBooksResponse actual = ApiGson.get().fromJson(RESPONSE, GoogleBooksResponse.class);
+
+        // Same tree once written back the reflective way
+        assertEquals(JsonParser.parseString(reflective.toJson(expected)),
+                JsonParser.parseString(reflective.toJson(actual)));
+
+        GoogleBooksResponse.VolumeInfo first = actual.getItems().get(0).getVolumeInfo();
+        assertEquals(1412, actual.getTotalItems());
+        assertEquals("Clean Code", first.getTitle());
+        assertEquals(Arrays.asList("Robert C. Martin"), first.getAuthors());
+        assertEquals(Integer.valueOf(462), first.getPageCount());
+        assertEquals(4.5, first.getAverageRating(), 0);
+        assertEquals("http://img/t", first.getImageLinks().getThumbnail());
+
+        GoogleBooksResponse.VolumeInfo second = actual.getItems().get(1).getVolumeInfo();
+        assertNull(second.getAuthors());
+        assertNull(second.getImageLinks());
+        assertEquals(Integer.valueOf(375), second.getPageCount());
+        assertNull(actual.getItems().get(2).getVolumeInfo());
+    }
+
+    @Test
+    public void write_matchesReflectiveGson() {
+        GoogleBooksResponse response = reflective.fromJson(RESPONSE, GoogleBooksResponse.class);
+
+        assertEquals(reflective.toJson(response), ApiGson.get().toJson(response));
+    }
+
+    @Test
+    public void emptyAndNullResponses() {
+        GoogleBooksResponse empty = ApiGson.get().fromJson("{\"totalItems\":0}", GoogleBooksResponse.class);
+        assertEquals(0, empty.getTotalItems());
+        assertNull(empty.getItems());
+        assertNull(ApiGson.get().fromJson("null", GoogleBooksResponse.class));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void badNumber_throwsJsonSyntaxException() {
+        ApiGson.get().fromJson("{\"items\":[{\"volumeInfo\":{\"pageCount\":\"many\"}}]}",
+                GoogleBooksResponse.class);
+    }
+}
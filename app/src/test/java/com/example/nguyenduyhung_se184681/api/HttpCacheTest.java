@@ -0,0 +1,184 @@
+package com.example.nguyenduyhung_se184681.api;
+
+import com.example.nguyenduyhung_se184681.model.GoogleBooksResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the HTTP cache against a local MockWebServer that behaves like Google Books:
+ * "max-age=0, must-revalidate" plus an ETag
+ */
+public class HttpCacheTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String BODY =
+            "{\"totalItems\":1,\"items\":[{\"id\":\"vol-1\",\"volumeInfo\":{\"title\":\"Cached Book\"}}]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private final AtomicBoolean online = new AtomicBoolean(true);
+    private final AtomicBoolean chunked = new AtomicBoolean(false);
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (ETAG.equals(request.getHeader("If-None-Match"))) {
+                    return new MockResponse().setResponseCode(304).setHeader("ETag", ETAG);
+                }
+                MockResponse response = new MockResponse()
+                        .setHeader("Cache-Control", "private, max-age=0, must-revalidate")
+                        .setHeader("ETag", ETAG);
+                return chunked.get() ? response.setChunkedBody(BODY, 16) : response.setBody(BODY);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void secondRequest_isConditionalAndReusesCachedBody() throws Exception {
+        HttpCacheStats stats = new HttpCacheStats();
+        ApiService api = newApi(config(false), stats);
+
+        assertEquals("Cached Book", title(api.searchBooks("java", 20).execute()));
+        assertEquals("Cached Book", title(api.searchBooks("java", 20).execute()));
+
+        assertEquals(2, server.getRequestCount());
+        server.takeRequest();
+        assertEquals(ETAG, server.takeRequest().getHeader("If-None-Match"));
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getRevalidationCount());
+        assertEquals(1, stats.getNotModifiedCount());
+        assertEquals(1, stats.getHitCount());
+    }
+
+    @Test
+    public void bytesDownloaded_countsBodyBytesReadFromNetwork() throws Exception {
+        HttpCacheStats stats = new HttpCacheStats();
+        ApiService api = newApi(config(false), stats);
+        int bodyBytes = BODY.getBytes(StandardCharsets.UTF_8).length;
+
+        api.searchBooks("java", 20).execute().body();
+        assertEquals(bodyBytes, stats.getBytesDownloaded());
+
+        // A 304 reuses the cached body: nothing more downloaded
+        api.searchBooks("java", 20).execute().body();
+        assertEquals(bodyBytes, stats.getBytesDownloaded());
+    }
+
+    @Test
+    public void bytesDownloaded_countsChunkedBodiesWithoutContentLength() throws Exception {
+        chunked.set(true);
+        HttpCacheStats stats = new HttpCacheStats();
+        ApiService api = newApi(config(false), stats);
+
+        assertEquals("Cached Book", title(api.searchBooks("java", 20).execute()));
+
+        assertEquals(BODY.getBytes(StandardCharsets.UTF_8).length, stats.getBytesDownloaded());
+    }
+
+    @Test
+    public void offline_servesStaleResponseWithoutNetwork() throws Exception {
+        HttpCacheStats stats = new HttpCacheStats();
+        ApiService api = newApi(config(false), stats);
+        api.searchBooks("java", 20).execute().body();
+
+        online.set(false);
+        Response<GoogleBooksResponse> offline = api.searchBooks("java", 20).execute();
+
+        assertTrue(offline.isSuccessful());
+        assertEquals("Cached Book", title(offline));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, stats.getStaleServedCount());
+    }
+
+    @Test
+    public void offline_cacheMissFails() throws Exception {
+        online.set(false);
+        ApiService api = newApi(config(false), new HttpCacheStats());
+
+        Response<GoogleBooksResponse> response = api.searchBooks("java", 20).execute();
+
+        assertEquals(504, response.code());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void staleWhileRevalidate_answersFromCacheAndRevalidatesInBackground() throws Exception {
+        HttpCacheStats stats = new HttpCacheStats();
+        ApiService api = newApi(config(true), stats);
+        api.searchBooks("java", 20).execute().body();
+
+        assertEquals("Cached Book", title(api.searchBooks("java", 20).execute()));
+
+        // Background revalidation shows up as a conditional request
+        RecordedRequest first = server.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest revalidation = server.takeRequest(2, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(revalidation);
+        assertEquals(ETAG, revalidation.getHeader("If-None-Match"));
+        assertNull(revalidation.getHeader("X-Background-Revalidate"));
+        assertEquals(1, stats.getStaleServedCount());
+    }
+
+    @Test
+    public void staleWhileRevalidate_freshHitDoesNotRevalidate() throws Exception {
+        HttpCacheStats stats = new HttpCacheStats();
+        ApiService api = newApi(config((int) TimeUnit.HOURS.toSeconds(1), true), stats);
+        api.searchBooks("java", 20).execute().body();
+        long cacheRequests = stats.getRequestCount();
+
+        assertEquals("Cached Book", title(api.searchBooks("java", 20).execute()));
+
+        // Nothing goes out in the background, not even a call the cache would answer
+        assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+        assertNull(server.takeRequest(500, TimeUnit.MILLISECONDS));
+        assertEquals(cacheRequests + 1, stats.getRequestCount());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(0, stats.getStaleServedCount());
+    }
+
+    private HttpCacheConfig config(boolean staleWhileRevalidate) throws Exception {
+        return config(0, staleWhileRevalidate);
+    }
+
+    private HttpCacheConfig config(int maxAgeSeconds, boolean staleWhileRevalidate) throws Exception {
+        return new HttpCacheConfig(folder.newFolder(), 1024 * 1024, maxAgeSeconds,
+                (int) TimeUnit.DAYS.toSeconds(1), staleWhileRevalidate);
+    }
+
+    private ApiService newApi(HttpCacheConfig config, HttpCacheStats stats) {
+        OkHttpClient client = RetrofitClient.buildHttpClient(config, online::get, stats);
+        return RetrofitClient.createApiService(server.url("/").toString(), client);
+    }
+
+    private static String title(Response<GoogleBooksResponse> response) {
+        return response.body().getItems().get(0).getVolumeInfo().getTitle();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the lock-free log-linear histogram
+ */
+public class HistogramTest {
+
+    @Test
+    public void bucketBounds_containTheirValues() {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = Histogram.bucketIndex(value);
+            assertTrue("index of " + value, index >= 0 && index < Histogram.BUCKET_COUNT);
+            assertTrue(value + " >= lower bound", value >= Histogram.bucketLowerBound(index));
+            assertTrue(value + " <= upper bound", value <= Histogram.bucketUpperBound(index));
+        }
+    }
+
+    @Test
+    public void bucketsAreContiguous() {
+        for (int i = 1; i < Histogram.BUCKET_COUNT; i++) {
+            assertEquals(Histogram.bucketUpperBound(i - 1) + 1, Histogram.bucketLowerBound(i));
+        }
+    }
+
+    @Test
+    public void percentiles_withinOneEighth() {
+        Histogram histogram = new Histogram(Histogram.Unit.NANOSECONDS);
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v * 1000);
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(10_000_000, snapshot.getMax());
+        assertEquals(5_000_500.0, snapshot.getMean(), 0.001);
+        assertWithinOneEighth(5_000_000, snapshot.getPercentile(0.50));
+        assertWithinOneEighth(9_900_000, snapshot.getPercentile(0.99));
+        assertEquals(10_000_000, snapshot.getPercentile(1.0));
+    }
+
+    @Test
+    public void emptyAndNegative() {
+        Histogram histogram = new Histogram(Histogram.Unit.BYTES);
+        Histogram.Snapshot empty = histogram.snapshot();
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getMax());
+        assertEquals(0, empty.getPercentile(0.5));
+
+        histogram.record(-5);
+        assertEquals(0, histogram.snapshot().getMax());
+        assertEquals(1, histogram.snapshot().getCount());
+    }
+
+    @Test
+    public void concurrentRecords_areAllCounted() throws Exception {
+        Histogram histogram = new Histogram(Histogram.Unit.NANOSECONDS);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(40_000, snapshot.getCount());
+        assertEquals(4L * (9_999L * 10_000L / 2), snapshot.getSum());
+        assertEquals(9_999, snapshot.getMax());
+    }
+
+    private static void assertWithinOneEighth(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected / 8);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.nguyenduyhung_se184681.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the metrics registry and its snapshots
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    public void sameName_returnsSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.counter("api.requests"), registry.counter("api.requests"));
+        assertSame(registry.timer("api.parse"), registry.timer("api.parse"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void histogram_withOtherUnit_throws() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.timer("api.response_size");
+        registry.histogram("api.response_size", Histogram.Unit.BYTES);
+    }
+
+    @Test
+    public void snapshot_copiesValuesAndReadsGauges() {
+        MetricsRegistry registry = new MetricsRegistry();
+        AtomicLong queued = new AtomicLong(3);
+        registry.counter("api.bytes_received").add(2048);
+        registry.gauge("lane.sync.queued", queued::get);
+        registry.timer("db.write.catalog").record(2_500_000);
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        queued.set(7);
+        registry.counter("api.bytes_received").add(1);
+
+        assertEquals(2048, snapshot.getCounter("api.bytes_received"));
+        assertEquals(0, snapshot.getCounter("missing"));
+        assertEquals(Long.valueOf(3), snapshot.getGauges().get("lane.sync.queued"));
+        assertEquals(1, snapshot.getHistogram("db.write.catalog").getCount());
+        assertEquals(7, (long) registry.snapshot().getGauges().get("lane.sync.queued"));
+    }
+
+    @Test
+    public void format_writesOneLinePerMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("api.requests").increment();
+        registry.histogram("api.response_size", Histogram.Unit.BYTES).record(512);
+        registry.timer("ui.bind").record(1_500_000);
+
+        String[] lines = registry.snapshot().format().split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("counter api.requests 1", lines[0]);
+        assertTrue(lines[1], lines[1].startsWith("histogram api.response_size count=1 mean=512B"));
+        assertTrue(lines[2], lines[2].startsWith("histogram ui.bind count=1 mean=1.50ms"));
+    }
+}
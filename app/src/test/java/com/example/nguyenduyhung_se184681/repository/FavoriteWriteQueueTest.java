@@ -0,0 +1,140 @@
+package com.example.nguyenduyhung_se184681.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for batching and overlaying favorite toggles
+ * Flushes are run by hand; the writer runs them on the calling thread
+ */
+public class FavoriteWriteQueueTest {
+
+    private final Set<String> favorites = new HashSet<>();
+    private final List<List<String>> batches = new ArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+    private RuntimeException failure;
+    private Runnable duringWrite;
+
+    private final FavoriteWriteQueue queue = new FavoriteWriteQueue(
+            postIds -> {
+                batches.add(new ArrayList<>(postIds));
+                if (duringWrite != null) {
+                    Runnable action = duringWrite;
+                    duringWrite = null;
+                    action.run();
+                }
+                if (failure != null) throw failure;
+                for (String postId : postIds) {
+                    if (!favorites.remove(postId)) favorites.add(postId);
+                }
+            },
+            Runnable::run,
+            (task, delayMs) -> scheduled.add(task),
+            FavoriteWriteQueue.FLUSH_DELAY_MS);
+
+    private final PostRepository.FavoriteCallback callback = new PostRepository.FavoriteCallback() {
+        @Override
+        public void onSuccess(boolean isFavorite) {
+        }
+
+        @Override
+        public void onError(String error) {
+            errors.add(error);
+        }
+    };
+
+    @Test
+    public void toggles_areBatchedIntoOneWrite() {
+        favorites.add("b");
+
+        assertTrue(queue.toggle("a", false, callback));
+        assertFalse(queue.toggle("b", true, callback));
+        assertTrue(queue.toggle("c", false, callback));
+        assertEquals(1, scheduled.size());
+
+        flush();
+
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b", "c")), batches);
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), favorites);
+        assertEquals(0, queue.getPendingCount());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void evenToggles_cancelOut() {
+        assertTrue(queue.toggle("a", false, callback));
+        assertFalse(queue.toggle("a", false, callback));
+        assertTrue(queue.toggle("b", false, callback));
+        assertFalse(queue.toggle("b", false, callback));
+        assertTrue(queue.toggle("b", false, callback));
+
+        flush();
+
+        assertEquals(Collections.singletonList(Collections.singletonList("b")), batches);
+        assertEquals(Collections.singleton("b"), favorites);
+    }
+
+    @Test
+    public void overlay_showsToggleUntilRowsCatchUp() {
+        queue.toggle("a", false, callback);
+        // Rows read before the write still say "not a favorite"
+        assertTrue(queue.isFavorite("a", false));
+
+        flush();
+
+        // Written, but an old row could still arrive
+        assertTrue(queue.isFavorite("a", false));
+        // Once a row agrees, the stored state is used again
+        assertTrue(queue.isFavorite("a", true));
+        assertFalse(queue.isFavorite("a", false));
+    }
+
+    @Test
+    public void toggleDuringWrite_goesToNextBatch() {
+        queue.toggle("a", false, callback);
+        duringWrite = () -> assertFalse(queue.toggle("a", false, callback));
+
+        flush();
+        assertTrue(favorites.contains("a"));
+        assertEquals(1, queue.getPendingCount());
+        assertFalse(queue.isFavorite("a", true));
+
+        flush();
+        assertEquals(2, batches.size());
+        assertTrue(favorites.isEmpty());
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void failedWrite_revertsOverlayAndReportsError() {
+        favorites.add("b");
+        failure = new IllegalStateException("disk I/O error");
+
+        assertTrue(queue.toggle("a", false, callback));
+        assertFalse(queue.toggle("b", true, callback));
+        flush();
+
+        assertEquals(Arrays.asList("disk I/O error", "disk I/O error"), errors);
+        assertEquals(Collections.singleton("b"), favorites);
+        assertFalse(queue.isFavorite("a", false));
+        assertTrue(queue.isFavorite("b", true));
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    private void flush() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.nguyenduyhung_se184681.repository;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the in-memory post cache
+ */
+public class PostCacheTest {
+
+    @Test
+    public void put_replacesOlderCopy() {
+        PostCache cache = new PostCache(10);
+        Post first = post("a");
+        Post second = post("a");
+
+        cache.put(first);
+        cache.put(second);
+
+        assertSame(second, cache.get("a"));
+        assertEquals(1, cache.size());
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void full_evictsLeastRecentlyUsed() {
+        PostCache cache = new PostCache(2);
+        cache.put(post("a"));
+        cache.put(post("b"));
+        // Reading "a" makes "b" the eldest
+        assertNotNull(cache.get("a"));
+
+        cache.put(post("c"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void put_ignoresPostsWithoutId() {
+        PostCache cache = new PostCache(2);
+        cache.put(null);
+        cache.put(post(null));
+        assertEquals(0, cache.size());
+    }
+
+    private static Post post(String id) {
+        Post post = new Post();
+        post.setId(id);
+        return post;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.nguyenduyhung_se184681.sync;
+
+import com.example.nguyenduyhung_se184681.api.BookPage;
+import com.example.nguyenduyhung_se184681.api.RetrofitClient;
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.util.TokenBucketRateLimiter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs CatalogSyncEngine against a local MockWebServer standing in for Google Books
+ */
+public class CatalogSyncEngineTest {
+
+    private static final long QUERY_DELAY_MS = 400;
+
+    private MockWebServer server;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = request.getRequestUrl();
+                String query = url.queryParameter("q");
+                if ("broken".equals(query)) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                // Earlier queries answer later, so arrival order is the reverse of query order
+                long delay = "a".equals(query) ? QUERY_DELAY_MS : QUERY_DELAY_MS / 2;
+                String startIndex = url.queryParameter("startIndex");
+                return new MockResponse()
+                        .setBody(page(query, startIndex != null ? Integer.parseInt(startIndex) : 0))
+                        .setBodyDelay(delay, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void fetchAll_mergesInQueryOrder() throws Exception {
+        CatalogSyncEngine engine = newEngine(new TokenBucketRateLimiter(4, 100));
+
+        List<Post> books = engine.fetchAll(Arrays.asList("a", "b", "c"));
+
+        assertEquals(6, books.size());
+        String[] expected = {"a-1", "a-2", "b-1", "b-2", "c-1", "c-2"};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], books.get(i).getId());
+        }
+    }
+
+    @Test
+    public void fetchAll_takesAboutAsLongAsTheSlowestQuery() throws Exception {
+        CatalogSyncEngine engine = newEngine(new TokenBucketRateLimiter(4, 100));
+
+        long start = System.nanoTime();
+        engine.fetchAll(Arrays.asList("a", "b", "c", "d"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Sequential would be 400 + 3 * 200 = 1000 ms
+        assertTrue("Sync took " + elapsedMs + " ms", elapsedMs < QUERY_DELAY_MS + 300);
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void fetchAll_skipsFailingQueries() throws Exception {
+        CatalogSyncEngine engine = newEngine(new TokenBucketRateLimiter(4, 100));
+
+        List<Post> books = engine.fetchAll(Arrays.asList("a", "broken", "c"));
+
+        assertEquals(4, books.size());
+        assertEquals("a-1", books.get(0).getId());
+        assertEquals("c-1", books.get(2).getId());
+    }
+
+    @Test
+    public void fetchPages_startsEachQueryAtItsOwnIndex() throws Exception {
+        CatalogSyncEngine engine = newEngine(new TokenBucketRateLimiter(4, 100));
+        Map<String, Integer> startIndexes = new LinkedHashMap<>();
+        startIndexes.put("c", 40);
+        startIndexes.put("broken", 20);
+        startIndexes.put("a", 0);
+
+        Map<String, BookPage> pages = engine.fetchPages(startIndexes);
+
+        assertEquals(Arrays.asList("c", "a"), new ArrayList<>(pages.keySet()));
+        assertEquals("c-41", pages.get("c").getPosts().get(0).getId());
+        assertEquals("a-1", pages.get("a").getPosts().get(0).getId());
+        assertEquals(2, pages.get("a").getTotalItems());
+    }
+
+    @Test
+    public void rateLimiter_spacesRequestsOnceBurstIsUsed() throws Exception {
+        // One request up front, then one every 100 ms
+        CatalogSyncEngine engine = newEngine(new TokenBucketRateLimiter(1, 10));
+
+        long start = System.nanoTime();
+        engine.fetchAll(Arrays.asList("b", "c", "d"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Sync took " + elapsedMs + " ms", elapsedMs >= 200 + QUERY_DELAY_MS / 2);
+    }
+
+    private CatalogSyncEngine newEngine(TokenBucketRateLimiter rateLimiter) {
+        return new CatalogSyncEngine(
+                RetrofitClient.createApiService(server.url("/").toString()),
+                executor,
+                rateLimiter,
+                20);
+    }
+
+    // Two books numbered from startIndex + 1 (a-1, a-2 for the first page)
+    private static String page(String query, int startIndex) {
+        return "{\"totalItems\":2,\"items\":["
+                + item(query + "-" + (startIndex + 1)) + ","
+                + item(query + "-" + (startIndex + 2)) + "]}";
+    }
+
+    private static String item(String id) {
+        return "{\"id\":\"" + id + "\",\"volumeInfo\":{\"title\":\"Book " + id + "\"}}";
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for BM25 scoring of FTS4 matchinfo('pcnalx') blobs
+ * Blobs are built by hand in the layout SQLite returns (native-order 32-bit ints)
+ */
+public class Bm25RankerTest {
+
+    private static final double DELTA = 1e-9;
+
+    // Two FTS columns (title, body), title weighted twice as much, as PostRepository ranks
+    private final Bm25Ranker ranker = new Bm25Ranker(2.0, 1.0);
+
+    @Test
+    public void score_decodesPcnalxLayout() {
+        // 1 phrase, 2 columns, 10 rows; avg lengths 4/40; this row 4/40;
+        // the phrase is once in this title, in 1 title overall
+        byte[] matchInfo = matchInfo(1, 2, 10,
+                4, 40,
+                4, 40,
+                1, 1, 1,
+                0, 0, 0);
+
+        // Row length equals the average, so saturation is exactly 1
+        double idf = Math.log((10 - 1 + 0.5) / (1 + 0.5));
+        assertEquals(2.0 * idf, ranker.score(matchInfo), DELTA);
+    }
+
+    @Test
+    public void score_sumsPhrasesAndColumns() {
+        byte[] titleOnly = matchInfo(1, 2, 10, 4, 40, 4, 40, 1, 1, 1, 0, 0, 0);
+        byte[] bodyOnly = matchInfo(1, 2, 10, 4, 40, 4, 40, 0, 0, 0, 1, 1, 1);
+        byte[] bothPhrases = matchInfo(2, 2, 10, 4, 40, 4, 40,
+                1, 1, 1, 0, 0, 0,
+                0, 0, 0, 1, 1, 1);
+
+        assertEquals(ranker.score(titleOnly) + ranker.score(bodyOnly),
+                ranker.score(bothPhrases), DELTA);
+    }
+
+    @Test
+    public void score_weightsTitleOverBody() {
+        // Same statistics, hit in the title vs in the body
+        byte[] titleHit = matchInfo(1, 2, 100, 10, 10, 10, 10, 1, 5, 5, 0, 0, 0);
+        byte[] bodyHit = matchInfo(1, 2, 100, 10, 10, 10, 10, 0, 0, 0, 1, 5, 5);
+
+        assertEquals(2.0 * ranker.score(bodyHit), ranker.score(titleHit), DELTA);
+        assertEquals(0, new Bm25Ranker(0, 1.0).score(titleHit), DELTA);
+    }
+
+    @Test
+    public void score_favorsRarerTermsAndShorterRows() {
+        byte[] rare = matchInfo(1, 2, 100, 10, 10, 10, 10, 1, 2, 2, 0, 0, 0);
+        byte[] common = matchInfo(1, 2, 100, 10, 10, 10, 10, 1, 40, 40, 0, 0, 0);
+        byte[] longRow = matchInfo(1, 2, 100, 10, 10, 30, 10, 1, 2, 2, 0, 0, 0);
+
+        assertTrue(ranker.score(rare) > ranker.score(common));
+        assertTrue(ranker.score(rare) > ranker.score(longRow));
+    }
+
+    @Test
+    public void score_isZeroForMissingOrTruncatedBlob() {
+        assertEquals(0, ranker.score(null), DELTA);
+        assertEquals(0, ranker.score(new byte[8]), DELTA);
+    }
+
+    private static byte[] matchInfo(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.nativeOrder());
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+}
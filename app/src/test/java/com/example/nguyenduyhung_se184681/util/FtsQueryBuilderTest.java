@@ -0,0 +1,41 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for turning search input into FTS4 MATCH expressions
+ */
+public class FtsQueryBuilderTest {
+
+    @Test
+    public void build_makesEveryWordAPrefixToken() {
+        assertEquals("andr* jav*", FtsQueryBuilder.build("andr jav"));
+        assertEquals("java*", FtsQueryBuilder.build("  Java  "));
+        assertEquals("émile* 2024*", FtsQueryBuilder.build("Émile 2024"));
+    }
+
+    @Test
+    public void build_treatsOperatorCharactersAsSeparators() {
+        assertEquals("hello* world*", FtsQueryBuilder.build("\"hello\" -world"));
+        assertEquals("title* java*", FtsQueryBuilder.build("title:java"));
+        assertEquals("c* programming*", FtsQueryBuilder.build("c++ (programming)*"));
+        assertEquals("near* 3* x*", FtsQueryBuilder.build("NEAR/3 x^"));
+    }
+
+    @Test
+    public void build_lowerCasesOperatorWords() {
+        // FTS4 only treats upper-case OR / AND / NOT as operators
+        assertEquals("cats* or* dogs*", FtsQueryBuilder.build("cats OR dogs"));
+        assertEquals("not* and*", FtsQueryBuilder.build("NOT AND"));
+    }
+
+    @Test
+    public void build_returnsNullWithoutSearchableWords() {
+        assertNull(FtsQueryBuilder.build(null));
+        assertNull(FtsQueryBuilder.build(""));
+        assertNull(FtsQueryBuilder.build("   "));
+        assertNull(FtsQueryBuilder.build("\"*-:()"));
+    }
+}
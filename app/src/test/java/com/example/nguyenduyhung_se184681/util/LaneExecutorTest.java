@@ -0,0 +1,100 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the bounded, instrumented executor lanes
+ */
+public class LaneExecutorTest {
+
+    private LaneExecutor lane;
+
+    @After
+    public void tearDown() {
+        if (lane != null) {
+            lane.shutdownNow();
+        }
+    }
+
+    @Test
+    public void threadsAreNamedAndInitialized() throws Exception {
+        AtomicBoolean initialized = new AtomicBoolean();
+        lane = new LaneExecutor("db-read", 1, 4, () -> initialized.set(true));
+
+        Future<String> name = lane.submit(() -> Thread.currentThread().getName());
+
+        assertEquals("db-read-1", name.get(1, TimeUnit.SECONDS));
+        assertTrue(initialized.get());
+    }
+
+    @Test
+    public void fullQueue_rejectsAndCounts() throws Exception {
+        lane = new LaneExecutor("sync", 1, 2, null);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        lane.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        lane.execute(() -> { });
+        lane.execute(() -> { });
+        try {
+            lane.execute(() -> { });
+            fail("Expected the full lane to reject the task");
+        } catch (RejectedExecutionException expected) {
+            // Bounded queue
+        }
+
+        assertEquals(2, lane.getQueueDepth());
+        assertEquals(2, lane.getPeakQueueDepth());
+        assertEquals(1, lane.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void recordsQueueWaitAndRunTime() throws Exception {
+        lane = new LaneExecutor("db-write", 1, 8, null);
+        CountDownLatch done = new CountDownLatch(2);
+        lane.execute(() -> {
+            sleepQuietly(50);
+            done.countDown();
+        });
+        // Waits behind the first task for about 50 ms
+        lane.execute(done::countDown);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        lane.shutdown();
+        assertTrue(lane.awaitTermination(1, TimeUnit.SECONDS));
+
+        assertEquals(2, lane.getSubmittedCount());
+        assertEquals(2, lane.getCompletedCount());
+        assertTrue(lane.getMaxQueueWaitMillis() >= 40);
+        assertTrue(lane.getAverageRunMillis() >= 20);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
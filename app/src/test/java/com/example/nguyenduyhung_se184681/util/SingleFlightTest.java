@@ -0,0 +1,117 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for coalescing concurrent runs of one task
+ */
+public class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentRequests_shareOneRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight flight = new SingleFlight(executor, () -> {
+            runs.incrementAndGet();
+            release.await();
+        });
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(flight.request(false));
+        }
+        release.countDown();
+        for (CompletableFuture<Void> result : results) {
+            result.get(1, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, runs.get());
+        assertEquals(1, flight.getRunCount());
+        assertEquals(9, flight.getJoinedCount());
+        assertFalse(flight.isRunning());
+    }
+
+    @Test
+    public void failure_reachesEveryCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight flight = new SingleFlight(executor, () -> {
+            release.await();
+            throw new IllegalStateException("No books found");
+        });
+
+        CompletableFuture<Void> first = flight.request(false);
+        CompletableFuture<Void> second = flight.request(false);
+        release.countDown();
+
+        for (CompletableFuture<Void> result : Arrays.asList(first, second)) {
+            try {
+                result.get(1, TimeUnit.SECONDS);
+                fail("Expected the shared run to fail");
+            } catch (ExecutionException e) {
+                assertEquals("No books found", e.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void followUpRequests_coalesceIntoOneMoreRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight flight = new SingleFlight(executor, () -> {
+            if (runs.incrementAndGet() == 1) {
+                firstStarted.countDown();
+                release.await();
+            }
+        });
+
+        CompletableFuture<Void> first = flight.request(false);
+        assertTrue(firstStarted.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Void> refreshA = flight.request(true);
+        CompletableFuture<Void> refreshB = flight.request(true);
+        CompletableFuture<Void> joined = flight.request(false);
+
+        assertSame(first, joined);
+        assertSame(refreshA, refreshB);
+        assertFalse(refreshA.isDone());
+
+        release.countDown();
+        first.get(1, TimeUnit.SECONDS);
+        refreshA.get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, runs.get());
+        assertFalse(flight.isRunning());
+    }
+
+    @Test
+    public void requestAfterRunEnds_startsANewRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        SingleFlight flight = new SingleFlight(executor, runs::incrementAndGet);
+
+        flight.request(false).get(1, TimeUnit.SECONDS);
+        flight.request(false).get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.nguyenduyhung_se184681.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the trigram title index
+ */
+public class TitleNgramIndexTest {
+
+    private static final String[] WORDS = {
+            "java", "android", "kotlin", "clean", "code", "patterns", "design", "mobile",
+            "apps", "effective", "programming", "software", "engineering", "concurrency",
+            "practice", "guide", "head", "first", "refactoring", "testing", "data", "systems"
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void search_matchesCaseInsensitiveSubstrings() {
+        TitleNgramIndex index = new TitleNgramIndex();
+        index.put("1", "Effective Java");
+        index.put("2", "Java Concurrency in Practice");
+        index.put("3", "Kotlin in Action");
+
+        assertEquals(set("1", "2"), index.search("JAVA"));
+        assertEquals(set("1"), index.search("tive ja"));
+        assertEquals(set("2", "3"), index.search("in"));
+        assertEquals(set(), index.search("javascript"));
+        assertEquals(set("1", "2", "3"), index.search(""));
+    }
+
+    @Test
+    public void search_agreesWithContainsOnRandomTitles() {
+        Random random = new Random(7);
+        String[] titles = randomTitles(random, 2_000);
+        TitleNgramIndex index = new TitleNgramIndex();
+        for (int i = 0; i < titles.length; i++) {
+            index.put(String.valueOf(i), titles[i]);
+        }
+
+        for (String query : new String[]{"a", "ja", "ava", "java c", "ing d", "esign", "zzz"}) {
+            Set<String> expected = new HashSet<>();
+            for (int i = 0; i < titles.length; i++) {
+                if (titles[i].toLowerCase(Locale.ROOT).contains(query)) {
+                    expected.add(String.valueOf(i));
+                }
+            }
+            assertEquals("query: " + query, expected, index.search(query));
+        }
+    }
+
+    @Test
+    public void putAndRemove_updateTheIndexIncrementally() {
+        TitleNgramIndex index = new TitleNgramIndex();
+        index.put("1", "Clean Code");
+        index.put("2", "Clean Architecture");
+
+        index.put("1", "Refactoring");
+        assertEquals(set("2"), index.search("clean"));
+        assertEquals(set("1"), index.search("factor"));
+
+        index.remove("2");
+        assertEquals(set(), index.search("clean"));
+        assertEquals(1, index.size());
+
+        // The freed slot is reused without leaking the old title
+        index.put("3", "Design Patterns");
+        assertEquals(set("3"), index.search("pattern"));
+        assertEquals(set(), index.search("architecture"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void snapshot_roundTripsThroughMappedFile() throws Exception {
+        TitleNgramIndex index = new TitleNgramIndex();
+        index.put("1", "Effective Java");
+        index.put("2", "Lập trình Android");
+        index.put("3", "Removed Later");
+        index.remove("3");
+
+        File file = new File(folder.getRoot(), "title_index.bin");
+        index.writeTo(file);
+        TitleNgramIndex loaded = TitleNgramIndex.readFrom(file);
+
+        assertEquals(2, loaded.size());
+        assertEquals(set("1"), loaded.search("java"));
+        assertEquals(set("2"), loaded.search("lập trình"));
+        assertEquals(set(), loaded.search("removed"));
+
+        // Still maintained incrementally after loading
+        loaded.put("4", "Java Puzzlers");
+        assertEquals(set("1", "4"), loaded.search("java"));
+    }
+
+    @Test
+    public void search_staysUnderAMillisecondAt100kPosts() {
+        Random random = new Random(11);
+        String[] titles = randomTitles(random, 100_000);
+        TitleNgramIndex index = new TitleNgramIndex();
+        for (int i = 0; i < titles.length; i++) {
+            index.put(String.valueOf(i), titles[i]);
+        }
+        String[] queries = {"effective jav", "clean code pat", "concurrency practice", "kotlin guide"};
+
+        // Warm up the JIT before timing
+        for (int i = 0; i < 200; i++) {
+            index.search(queries[i % queries.length]);
+        }
+        int runs = 400;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            index.search(queries[i % queries.length]);
+        }
+        double avgMs = (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1) / runs;
+
+        assertTrue("Average search took " + avgMs + " ms", avgMs < 1.0);
+    }
+
+    private static String[] randomTitles(Random random, int count) {
+        String[] titles = new String[count];
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            title.setLength(0);
+            int words = 2 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) title.append(' ');
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(random.nextBoolean() ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+            }
+            titles[i] = title.toString();
+        }
+        return titles;
+    }
+
+    private static Set<String> set(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+}
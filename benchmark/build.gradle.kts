@@ -0,0 +1,59 @@
+// JMH benchmarks for the catalog pipeline, run on a plain JVM:
+//   ./gradlew :benchmark:jmh
+// Results go to benchmark/build/results/jmh/results.txt
+// Only the app classes without Android dependencies are compiled here (straight
+// from app/src/main/java), so the numbers measure the same code the app ships
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+sourceSets {
+    main {
+        java {
+            setSrcDirs(listOf("../app/src/main/java"))
+            include(
+                "com/example/nguyenduyhung_se184681/model/Post.java",
+                "com/example/nguyenduyhung_se184681/model/GoogleBooksResponse.java",
+                "com/example/nguyenduyhung_se184681/api/ApiGson.java",
+                "com/example/nguyenduyhung_se184681/api/BookMapper.java",
+                "com/example/nguyenduyhung_se184681/api/BookPage.java",
+                "com/example/nguyenduyhung_se184681/api/BookStreamParser.java",
+                "com/example/nguyenduyhung_se184681/api/GoogleBooksTypeAdapters.java",
+                "com/example/nguyenduyhung_se184681/metrics/Counter.java",
+                "com/example/nguyenduyhung_se184681/metrics/Gauge.java",
+                "com/example/nguyenduyhung_se184681/metrics/Histogram.java",
+                "com/example/nguyenduyhung_se184681/metrics/MetricsRegistry.java",
+                "com/example/nguyenduyhung_se184681/metrics/MetricsSnapshot.java",
+                "com/example/nguyenduyhung_se184681/util/PostFilter.java",
+                "com/example/nguyenduyhung_se184681/util/TitleNgramIndex.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    // Post carries Room/androidx annotations; they are not needed at run time
+    compileOnly(libs.annotation)
+    compileOnly(libs.room.common)
+    implementation(libs.gson)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    warmup.set("1s")
+    resultFormat.set("TEXT")
+    // Pass -Pjmh.includes=PostFilter to run a subset
+    if (project.hasProperty("jmh.includes")) {
+        includes.add(project.property("jmh.includes").toString())
+    }
+}
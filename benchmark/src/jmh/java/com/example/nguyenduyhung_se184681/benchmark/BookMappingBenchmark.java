@@ -0,0 +1,89 @@
+package com.example.nguyenduyhung_se184681.benchmark;
+
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.model.Post;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning volume fields into posts, without the JSON parsing around it
+ * - toPost: body, category, image URL and the derived display fields
+ * - assignPosition: position and content hash, once the catalog order is known
+ * - mapCategory: category names alone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    private String[] ids;
+    private String[] titles;
+    private String[] descriptions;
+    private List<List<String>> authors;
+    private String[] categories;
+    private String[] thumbnails;
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        List<Post> catalog = CatalogFixtures.posts(catalogSize);
+        int size = catalog.size();
+        ids = new String[size];
+        titles = new String[size];
+        descriptions = new String[size];
+        authors = new ArrayList<>(size);
+        categories = new String[size];
+        thumbnails = new String[size];
+        for (int i = 0; i < size; i++) {
+            Post post = catalog.get(i);
+            ids[i] = post.getId();
+            titles[i] = post.getTitle();
+            // Every third volume has no description, like the recorded response
+            descriptions[i] = i % 3 == 2 ? null : post.getBody();
+            authors.add(Arrays.asList("Robert C. Martin", "Joshua Bloch"));
+            categories[i] = CatalogFixtures.RAW_CATEGORIES[i % CatalogFixtures.RAW_CATEGORIES.length];
+            thumbnails[i] = post.getImageUrl().replace("https://", "http://");
+        }
+        posts = catalog;
+    }
+
+    @Benchmark
+    public List<Post> toPost() {
+        List<Post> result = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            result.add(BookMapper.toPost(ids[i], titles[i], descriptions[i],
+                    authors.get(i), categories[i], thumbnails[i]));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void assignPosition() {
+        for (int i = 0; i < posts.size(); i++) {
+            BookMapper.assignPosition(posts.get(i), i);
+        }
+    }
+
+    @Benchmark
+    public void mapCategory(Blackhole blackhole) {
+        for (String category : categories) {
+            blackhole.consume(BookMapper.mapCategory(category));
+        }
+    }
+}
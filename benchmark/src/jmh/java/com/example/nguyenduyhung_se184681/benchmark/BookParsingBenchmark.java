@@ -0,0 +1,41 @@
+package com.example.nguyenduyhung_se184681.benchmark;
+
+import com.example.nguyenduyhung_se184681.api.BookPage;
+import com.example.nguyenduyhung_se184681.api.BookStreamParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming parse of a Google Books response body into posts
+ * (UTF-8 decoding, skipping unused fields, mapping each volume)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookParsingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = CatalogFixtures.responseBytes(catalogSize);
+    }
+
+    @Benchmark
+    public BookPage parse() throws IOException {
+        return BookStreamParser.parse(CatalogFixtures.reader(body));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.nguyenduyhung_se184681.benchmark;
+
+import com.example.nguyenduyhung_se184681.api.BookMapper;
+import com.example.nguyenduyhung_se184681.api.BookStreamParser;
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Catalogs of any size built from a recorded Google Books volumes response
+ * - the recorded items are repeated with their own IDs, titles and categories,
+ *   so a catalog looks like a real sync of that many volumes
+ * - the same size always gives the same catalog
+ */
+final class CatalogFixtures {
+
+    static final String RECORDED_RESPONSE = "/google_books_volumes.json";
+
+    // Raw first categories as Google Books sends them
+    static final String[] RAW_CATEGORIES = {
+            "Computers",
+            "Computers / Programming Languages / Java",
+            "Mobile Technology",
+            "Business & Economics",
+            "Education",
+            "Technology & Engineering",
+            "Science",
+            "",
+    };
+
+    // Title words used by the search benchmarks; each hits a different share of the catalog
+    static final String[] TITLE_WORDS = {"Code", "Java", "Android", "Patterns", "Kotlin"};
+
+    private CatalogFixtures() {
+    }
+
+    // Response body with `size` items, encoded as it comes over the wire
+    static byte[] responseBytes(int size) {
+        JsonObject recorded = loadRecorded();
+        JsonArray recordedItems = recorded.getAsJsonArray("items");
+
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            JsonObject item = recordedItems.get(i % recordedItems.size()).getAsJsonObject().deepCopy();
+            item.addProperty("id", item.get("id").getAsString() + "-" + i);
+            JsonObject volumeInfo = item.getAsJsonObject("volumeInfo");
+            volumeInfo.addProperty("title", volumeInfo.get("title").getAsString()
+                    + " " + TITLE_WORDS[i % TITLE_WORDS.length] + " " + i);
+            JsonArray categories = new JsonArray();
+            categories.add(RAW_CATEGORIES[i % RAW_CATEGORIES.length]);
+            volumeInfo.add("categories", categories);
+            items.add(item);
+        }
+
+        JsonObject response = recorded.deepCopy();
+        response.addProperty("totalItems", size);
+        response.add("items", items);
+        return response.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Parsed catalog in arrival order, positions assigned as a sync would
+    static List<Post> posts(int size) {
+        try {
+            List<Post> posts = BookStreamParser.parse(reader(responseBytes(size))).getPosts();
+            for (int i = 0; i < posts.size(); i++) {
+                BookMapper.assignPosition(posts.get(i), i);
+            }
+            return posts;
+        } catch (IOException e) {
+            throw new IllegalStateException("Recorded response does not parse", e);
+        }
+    }
+
+    static JsonReader reader(byte[] body) {
+        return new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    private static JsonObject loadRecorded() {
+        try (InputStream in = CatalogFixtures.class.getResourceAsStream(RECORDED_RESPONSE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + RECORDED_RESPONSE);
+            }
+            Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+            JsonElement root = JsonParser.parseReader(reader);
+            return root.getAsJsonObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + RECORDED_RESPONSE, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.nguyenduyhung_se184681.benchmark;
+
+import com.example.nguyenduyhung_se184681.api.ApiGson;
+import com.example.nguyenduyhung_se184681.api.GoogleBooksTypeAdapters;
+import com.example.nguyenduyhung_se184681.model.GoogleBooksResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a recorded Google Books response into GoogleBooksResponse
+ * - reflective: plain Gson, as the converter did before ApiGson
+ * - adapters: the shared ApiGson with the hand-written type adapters
+ * - the *FreshGson variants build a new Gson for every parse, i.e. what the
+ *   first sync pays for creating the adapters
+ * Run with -prof gc to compare allocations as well
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GsonParsingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int catalogSize;
+
+    private final Gson reflectiveGson = new Gson();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = CatalogFixtures.responseBytes(catalogSize);
+    }
+
+    @Benchmark
+    public GoogleBooksResponse reflective() {
+        return reflectiveGson.fromJson(CatalogFixtures.reader(body), GoogleBooksResponse.class);
+    }
+
+    @Benchmark
+    public GoogleBooksResponse adapters() {
+        return ApiGson.get().fromJson(CatalogFixtures.reader(body), GoogleBooksResponse.class);
+    }
+
+    @Benchmark
+    public GoogleBooksResponse reflectiveFreshGson() {
+        return new Gson().fromJson(CatalogFixtures.reader(body), GoogleBooksResponse.class);
+    }
+
+    @Benchmark
+    public GoogleBooksResponse adaptersFreshGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(GoogleBooksTypeAdapters.FACTORY)
+                .create()
+                .fromJson(CatalogFixtures.reader(body), GoogleBooksResponse.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.nguyenduyhung_se184681.benchmark;
+
+import com.example.nguyenduyhung_se184681.metrics.Counter;
+import com.example.nguyenduyhung_se184681.metrics.Histogram;
+import com.example.nguyenduyhung_se184681.metrics.MetricsRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording a metric on a hot path (e.g. every row bind), alone and
+ * with several threads recording into the same metric
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+    private Counter counter;
+    private Histogram histogram;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry registry = new MetricsRegistry();
+        counter = registry.counter("bench.counter");
+        histogram = registry.timer("bench.timer");
+    }
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(++value & 0xFFFFF);
+    }
+
+    // nanoTime() plus record(), as the instrumented code does
+    @Benchmark
+    public void histogramRecordNanosSince() {
+        histogram.recordNanosSince(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void histogramRecordContended() {
+        histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+}
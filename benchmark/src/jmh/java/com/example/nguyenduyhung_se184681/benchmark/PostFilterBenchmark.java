@@ -0,0 +1,103 @@
+package com.example.nguyenduyhung_se184681.benchmark;
+
+import com.example.nguyenduyhung_se184681.model.Post;
+import com.example.nguyenduyhung_se184681.util.PostFilter;
+import com.example.nguyenduyhung_se184681.util.TitleNgramIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory filtering and sorting of the catalog (PostFilter), as run for
+ * search-as-you-type and category chips
+ * - search by scanning titles vs. looking them up in the title n-gram index
+ * - category filter and each sort order on their own
+ * - building the title index from scratch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostFilterBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    @Param({PostFilter.SORT_NEWEST, PostFilter.SORT_TITLE})
+    public String sortOrder;
+
+    private List<Post> posts;
+    private TitleNgramIndex titleIndex;
+    private PostFilter categories;
+    private PostFilter sortOnly;
+
+    @Setup
+    public void setUp() {
+        posts = CatalogFixtures.posts(catalogSize);
+        titleIndex = buildIndex(posts);
+        Set<String> none = Collections.emptySet();
+        Set<String> chips = new HashSet<>(Arrays.asList("Programming", "Business"));
+        categories = new PostFilter("", chips, sortOrder, false);
+        sortOnly = new PostFilter("", none, sortOrder, false);
+    }
+
+    // Only the search benchmarks are run once per query
+    @State(Scope.Benchmark)
+    public static class Search {
+        // A word in about half of the titles, one in a fifth, and one in none
+        @Param({"java", "patterns", "xyz"})
+        public String query;
+
+        PostFilter filter;
+
+        @Setup
+        public void setUp(PostFilterBenchmark catalog) {
+            filter = new PostFilter(query, Collections.<String>emptySet(), catalog.sortOrder, false);
+        }
+    }
+
+    @Benchmark
+    public List<Post> searchScan(Search search) {
+        return search.filter.apply(posts);
+    }
+
+    @Benchmark
+    public List<Post> searchIndexed(Search search) {
+        return search.filter.apply(posts, titleIndex);
+    }
+
+    @Benchmark
+    public List<Post> filterCategories() {
+        return categories.apply(posts);
+    }
+
+    @Benchmark
+    public List<Post> sortAll() {
+        return sortOnly.apply(posts);
+    }
+
+    @Benchmark
+    public TitleNgramIndex buildTitleIndex() {
+        return buildIndex(posts);
+    }
+
+    private static TitleNgramIndex buildIndex(List<Post> posts) {
+        TitleNgramIndex index = new TitleNgramIndex();
+        for (Post post : posts) {
+            index.put(post.getId(), post.getTitle());
+        }
+        return index;
+    }
+}
@@ -21,4 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "Nguyen Duy Hung - SE184681"
 include(":app")
+include(":benchmark")
  
\ No newline at end of file